@@ -0,0 +1,108 @@
+package com.example.demo.bench;
+
+import com.example.demo.client.PageEvent;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.StreamingPageDecoder;
+import com.example.demo.entity.Url;
+import com.example.demo.entity.User;
+import com.example.demo.entity.UserDto;
+import com.example.demo.entity.UsersDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request/decode round trips through {@link ReqresClient} against an in-process Netty server
+ * that answers with canned payloads, so the numbers reflect client-side cost rather than network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ClientRoundTripBenchmark {
+
+    @Param({"6", "100"})
+    int perPage;
+
+    private DisposableServer server;
+
+    private ConnectionProvider connections;
+
+    private ReqresClient client;
+
+    @Setup
+    public void setUp() {
+        byte[] user = Fixtures.userDto(2);
+        byte[] page = Fixtures.usersPage(1, perPage, perPage * 10);
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/users/{id}", (request, response) -> json(response, user))
+                        .get("/api/users", (request, response) -> json(response, page)))
+                .bindNow();
+        String base = "http://127.0.0.1:" + server.port() + "/api/";
+        Url url = new Url();
+        url.setUsersApi(base + "users/");
+        url.setUsersApiWithOffsetAndLimit(base + "users?page={page}&per_page={per_page}");
+        url.setResourcesApi(base + "unknown/");
+        url.setResourcesApiWithOffsetAndLimit(base + "unknown?page={page}&per_page={per_page}");
+        url.setLoginApi(base + "login");
+        url.setRegistrationApi(base + "register");
+        connections = ConnectionProvider.builder("benchmark").maxConnections(64).build();
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        client = new ReqresClient(webClient, url, new StreamingPageDecoder(Fixtures.objectMapper()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        connections.disposeLater().block();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public UserDto getUser() {
+        return client.getUser(2).block();
+    }
+
+    @Benchmark
+    public UsersDto getUsersBuffered() {
+        return client.getUsers(1, perPage).block();
+    }
+
+    @Benchmark
+    public User getUsersStreaming() {
+        return client.streamUsersPage(1, perPage).filter(PageEvent::isItem).map(PageEvent::getItem).blockLast();
+    }
+
+    private static Publisher<Void> json(HttpServerResponse response, byte[] body) {
+        return response.header("Content-Type", "application/json")
+                .sendByteArray(Mono.just(body));
+    }
+}
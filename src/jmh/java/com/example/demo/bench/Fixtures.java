@@ -0,0 +1,63 @@
+package com.example.demo.bench;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Canned reqres payloads shaped like the real API, sized by {@code per_page}.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    static String user(long id) {
+        return "{\"id\":" + id + ",\"email\":\"user" + id + "@reqres.in\",\"first_name\":\"First" + id
+                + "\",\"last_name\":\"Last" + id + "\",\"avatar\":\"https://reqres.in/img/faces/" + id + "-image.jpg\"}";
+    }
+
+    static String resource(long id) {
+        return "{\"id\":" + id + ",\"name\":\"colour" + id + "\",\"year\":" + (2000 + id % 20)
+                + ",\"color\":\"#C74375\",\"pantone_value\":\"17-2031\"}";
+    }
+
+    static byte[] userDto(long id) {
+        return ("{\"data\":" + user(id) + "," + support() + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] usersPage(int page, int perPage, int total) {
+        return page(page, perPage, total, true);
+    }
+
+    static byte[] resourcesPage(int page, int perPage, int total) {
+        return page(page, perPage, total, false);
+    }
+
+    private static byte[] page(int page, int perPage, int total, boolean users) {
+        StringBuilder json = new StringBuilder(perPage * 160)
+                .append("{\"page\":").append(page)
+                .append(",\"per_page\":").append(perPage)
+                .append(",\"total\":").append(total)
+                .append(",\"total_pages\":").append((total + perPage - 1) / perPage)
+                .append(",\"data\":[");
+        long first = (long) (page - 1) * perPage + 1;
+        long last = Math.min(total, first + perPage - 1);
+        for (long id = first; id <= last; id++) {
+            if (id > first) {
+                json.append(',');
+            }
+            json.append(users ? user(id) : resource(id));
+        }
+        return json.append("],").append(support()).append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String support() {
+        return "\"support\":{\"url\":\"https://reqres.in/#support-heading\",\"text\":\"To keep ReqRes free, contributions towards server costs are appreciated!\"}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.bench;
+
+import com.example.demo.client.ReqresCodecs;
+import com.example.demo.entity.CodecSettings;
+import com.example.demo.entity.ResourcesDto;
+import com.example.demo.entity.UserDto;
+import com.example.demo.entity.UsersDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plain {@link ObjectMapper#readValue} against the {@link ReqresCodecs} path: a per-type cached
+ * {@link ObjectReader} on a Blackbird mapper, for JSON and for the same page encoded as Smile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonMappingBenchmark {
+
+    @Param({"6", "100", "1000"})
+    int perPage;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] usersPage;
+
+    private byte[] resourcesPage;
+
+    private byte[] user;
+
+    private ObjectReader usersReader;
+
+    private ObjectReader usersSmileReader;
+
+    private byte[] usersPageSmile;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Fixtures.objectMapper();
+        usersPage = Fixtures.usersPage(1, perPage, perPage);
+        resourcesPage = Fixtures.resourcesPage(1, perPage, perPage);
+        user = Fixtures.userDto(2);
+        CodecSettings settings = new CodecSettings();
+        settings.setSmile(true);
+        ReqresCodecs codecs = new ReqresCodecs(objectMapper, settings);
+        usersReader = codecs.reader(UsersDto.class);
+        usersSmileReader = codecs.reader(ReqresCodecs.SMILE, UsersDto.class);
+        usersPageSmile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(objectMapper.readTree(usersPage));
+    }
+
+    @Benchmark
+    public UsersDto usersDto() throws IOException {
+        return objectMapper.readValue(usersPage, UsersDto.class);
+    }
+
+    @Benchmark
+    public UsersDto usersDtoCachedReader() throws IOException {
+        return usersReader.readValue(usersPage);
+    }
+
+    @Benchmark
+    public UsersDto usersDtoSmile() throws IOException {
+        return usersSmileReader.readValue(usersPageSmile);
+    }
+
+    @Benchmark
+    public ResourcesDto resourcesDto() throws IOException {
+        return objectMapper.readValue(resourcesPage, ResourcesDto.class);
+    }
+
+    @Benchmark
+    public UserDto userDto() throws IOException {
+        return objectMapper.readValue(user, UserDto.class);
+    }
+}
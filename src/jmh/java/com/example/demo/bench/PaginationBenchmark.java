@@ -0,0 +1,90 @@
+package com.example.demo.bench;
+
+import com.example.demo.client.PageEvent;
+import com.example.demo.client.StreamingPageDecoder;
+import com.example.demo.entity.User;
+import com.example.demo.entity.UsersDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming ({@link StreamingPageDecoder}) versus buffered ({@code byte[]} to {@link UsersDto})
+ * decoding of one page delivered as 8 KiB network-sized chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+
+    private static final int CHUNK = 8192;
+
+    @Param({"6", "100", "1000"})
+    int perPage;
+
+    private final DefaultDataBufferFactory buffers = new DefaultDataBufferFactory();
+
+    private ObjectMapper objectMapper;
+
+    private StreamingPageDecoder decoder;
+
+    private List<byte[]> chunks;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        decoder = new StreamingPageDecoder(objectMapper);
+        byte[] page = Fixtures.usersPage(1, perPage, perPage);
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < page.length; offset += CHUNK) {
+            chunks.add(Arrays.copyOfRange(page, offset, Math.min(page.length, offset + CHUNK)));
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) {
+        decoder.decode(body(), User.class)
+                .filter(PageEvent::isItem)
+                .doOnNext(blackhole::consume)
+                .blockLast();
+    }
+
+    @Benchmark
+    public void buffered(Blackhole blackhole) throws IOException {
+        byte[] whole = new byte[chunks.stream().mapToInt(chunk -> chunk.length).sum()];
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            System.arraycopy(chunk, 0, whole, offset, chunk.length);
+            offset += chunk.length;
+        }
+        for (User user : objectMapper.readValue(whole, UsersDto.class)) {
+            blackhole.consume(user);
+        }
+    }
+
+    private Flux<DataBuffer> body() {
+        return Flux.fromIterable(chunks).map(buffers::wrap);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.bench;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.ReqresSyncClient;
+import com.example.demo.client.StreamingPageDecoder;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.UserDto;
+import com.example.demo.stub.ReqresStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One operation is {@code callers} concurrent user lookups against a stub that answers after
+ * {@code latencyMillis}: reactive fan-out, blocking callers on virtual threads through
+ * {@link ReqresSyncClient}, and the same blocking callers on a bounded platform-thread pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyncClientBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"100", "1000"})
+    int callers;
+
+    @Param({"5"})
+    int latencyMillis;
+
+    private ReqresStubServer stub;
+
+    private ConnectionProvider connections;
+
+    private ReqresClient client;
+
+    private ReqresSyncClient syncClient;
+
+    private ExecutorService platformThreads;
+
+    @Setup
+    public void setUp() {
+        StubSettings settings = new StubSettings();
+        settings.setLatencyDistribution(StubSettings.LatencyDistribution.FIXED);
+        settings.setLatency(Duration.ofMillis(latencyMillis));
+        stub = ReqresStubServer.start(settings);
+        connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(callers)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        client = new ReqresClient(webClient, stub.urls(), new StreamingPageDecoder(Fixtures.objectMapper()));
+        syncClient = new ReqresSyncClient(client);
+        platformThreads = Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        platformThreads.shutdownNow();
+        syncClient.close();
+        connections.disposeLater().block();
+        stub.close();
+    }
+
+    @Benchmark
+    public UserDto reactive() {
+        return Flux.range(0, callers)
+                .flatMap(i -> client.getUser(1 + i % 12), callers)
+                .blockLast();
+    }
+
+    @Benchmark
+    public Object virtualThreads() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[callers];
+        for (int i = 0; i < callers; i++) {
+            long id = 1 + i % 12;
+            calls[i] = syncClient.submit(() -> syncClient.getUser(id));
+        }
+        return CompletableFuture.allOf(calls).join();
+    }
+
+    @Benchmark
+    public Object platformThreads() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[callers];
+        for (int i = 0; i < callers; i++) {
+            long id = 1 + i % 12;
+            calls[i] = CompletableFuture.supplyAsync(() -> syncClient.getUser(id), platformThreads);
+        }
+        return CompletableFuture.allOf(calls).join();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.bench;
+
+import com.example.demo.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Lombok-generated members of {@link User} that sets, maps and logging hit on every lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserBenchmark {
+
+    private User user;
+
+    private User same;
+
+    private User other;
+
+    @Setup
+    public void setUp() {
+        user = user(2);
+        same = user(2);
+        other = user(3);
+    }
+
+    @Benchmark
+    public boolean equalsSame() {
+        return user.equals(same);
+    }
+
+    @Benchmark
+    public boolean equalsOther() {
+        return user.equals(other);
+    }
+
+    @Benchmark
+    public int hashCodeUser() {
+        return user.hashCode();
+    }
+
+    @Benchmark
+    public String toStringUser() {
+        return user.toString();
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return user.compareTo(other);
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@reqres.in");
+        user.setFirst_name("First" + id);
+        user.setLast_name("Last" + id);
+        user.setAvatar("https://reqres.in/img/faces/" + id + "-image.jpg");
+        return user;
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.demo;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+import java.util.List;
+
 
 @SpringBootApplication
 public class DemoApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(DemoApplication.class);
+        SpringApplication application = new SpringApplication(DemoApplication.class);
+        List<String> arguments = Arrays.asList(args);
+        if (arguments.contains("--mode=load") || arguments.contains("--mode=replay")) {
+            // the load generator and the replayer are one-shot clients: no server, exit once the report is written
+            application.setWebApplicationType(WebApplicationType.NONE);
+            System.exit(SpringApplication.exit(application.run(args)));
+        }
+        application.run(args);
     }
 
 }
@@ -0,0 +1,194 @@
+package com.example.demo.capture;
+
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Layout of a capture file: an 8-byte header (magic, version) followed by records, each framed as
+ * a 4-byte payload length and the CRC32 of the payload. Payload integers are unsigned LEB128
+ * varints, strings and bodies are length-prefixed, and headers are a count of name/value pairs.
+ * A torn or corrupt frame marks the end of the usable log. Version 2 added the URI template after
+ * the URI; version 1 files are still read.
+ */
+final class CaptureFormat {
+
+    static final int MAGIC = 0x52514350;
+
+    static final int VERSION = 2;
+
+    static final int MIN_READ_VERSION = 1;
+
+    static final int FILE_HEADER_SIZE = 8;
+
+    static final int FRAME_HEADER_SIZE = 8;
+
+    static final int MAX_RECORD_SIZE = 64 << 20;
+
+    private static final int REQUEST_TRUNCATED = 1;
+
+    private static final int RESPONSE_TRUNCATED = 2;
+
+    private CaptureFormat() {
+    }
+
+    /**
+     * Upper bound on the encoded size of a record, frame included.
+     */
+    static int maxSize(CaptureRecord record) {
+        long size = FRAME_HEADER_SIZE + 6 * 10L + 3 * 5L
+                + maxSize(record.getMethod()) + maxSize(record.getEndpoint()) + maxSize(record.getUri())
+                + maxSize(record.getUriTemplate())
+                + maxSize(record.getError()) + maxSize(record.getRequestHeaders()) + maxSize(record.getResponseHeaders())
+                + 5L + record.getRequestBody().length + 5L + record.getResponseBody().length;
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Appends the framed record at the buffer's position, which must leave {@link #maxSize} bytes.
+     */
+    static void write(ByteBuffer out, CaptureRecord record) {
+        int frame = out.position();
+        out.position(frame + FRAME_HEADER_SIZE);
+        putVarLong(out, record.getStartMicros());
+        putVarLong(out, record.getHeadersNanos() + 1);
+        putVarLong(out, record.getDurationNanos());
+        putVarLong(out, (record.isRequestTruncated() ? REQUEST_TRUNCATED : 0)
+                | (record.isResponseTruncated() ? RESPONSE_TRUNCATED : 0));
+        putString(out, record.getMethod());
+        putString(out, record.getEndpoint());
+        putString(out, record.getUri());
+        putString(out, record.getUriTemplate());
+        putHeaders(out, record.getRequestHeaders());
+        putBytes(out, record.getRequestBody());
+        putVarLong(out, record.getStatus());
+        putString(out, record.getError());
+        putHeaders(out, record.getResponseHeaders());
+        putBytes(out, record.getResponseBody());
+        int length = out.position() - frame - FRAME_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), out.arrayOffset() + frame + FRAME_HEADER_SIZE, length);
+        out.putInt(frame, length);
+        out.putInt(frame + 4, (int) crc.getValue());
+    }
+
+    static CaptureRecord read(ByteBuffer payload, int version) {
+        CaptureRecord.CaptureRecordBuilder record = CaptureRecord.builder()
+                .startMicros(getVarLong(payload))
+                .headersNanos(getVarLong(payload) - 1)
+                .durationNanos(getVarLong(payload));
+        long flags = getVarLong(payload);
+        return record.requestTruncated((flags & REQUEST_TRUNCATED) != 0)
+                .responseTruncated((flags & RESPONSE_TRUNCATED) != 0)
+                .method(getString(payload))
+                .endpoint(getString(payload))
+                .uri(getString(payload))
+                .uriTemplate(version >= 2 ? getString(payload) : null)
+                .requestHeaders(getHeaders(payload))
+                .requestBody(getBytes(payload))
+                .status((int) getVarLong(payload))
+                .error(getString(payload))
+                .responseHeaders(getHeaders(payload))
+                .responseBody(getBytes(payload))
+                .build();
+    }
+
+    static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long maxSize(String value) {
+        return 5L + (value == null ? 0 : 3L * value.length());
+    }
+
+    private static long maxSize(HttpHeaders headers) {
+        long size = 5;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                size += maxSize(header.getKey()) + maxSize(value);
+            }
+        }
+        return size;
+    }
+
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    /**
+     * Strings are stored with their UTF-8 length plus one, so that 0 can stand for {@code null}.
+     */
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            putVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(out, bytes.length + 1L);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = (int) getVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        putVarLong(out, bytes.length);
+        out.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer in) {
+        byte[] bytes = new byte[(int) getVarLong(in)];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static void putHeaders(ByteBuffer out, HttpHeaders headers) {
+        int count = 0;
+        for (List<String> values : headers.values()) {
+            count += values.size();
+        }
+        putVarLong(out, count);
+        headers.forEach((name, values) -> values.forEach(value -> {
+            putString(out, name);
+            putString(out, value);
+        }));
+    }
+
+    private static HttpHeaders getHeaders(ByteBuffer in) {
+        int count = (int) getVarLong(in);
+        HttpHeaders headers = new HttpHeaders();
+        for (int i = 0; i < count; i++) {
+            headers.add(getString(in), getString(in));
+        }
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+}
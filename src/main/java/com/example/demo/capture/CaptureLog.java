@@ -0,0 +1,216 @@
+package com.example.demo.capture;
+
+import com.example.demo.entity.CaptureSettings;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only capture file (see {@link CaptureFormat}). Callers only enqueue; a single writer
+ * thread drains whatever has accumulated into one buffer, appends it with one channel write and
+ * forces the file to disk every {@code syncInterval} or {@code syncBytes}, whichever comes first.
+ * When the queue is full records are dropped and counted, so a slow disk never stalls a caller.
+ * <p>
+ * An existing file is appended to after cutting off any torn record at its end.
+ */
+@Slf4j
+public final class CaptureLog implements AutoCloseable {
+
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final BlockingQueue<CaptureRecord> queue;
+
+    private final long syncIntervalNanos;
+
+    private final long syncBytes;
+
+    private final Thread writer;
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    private volatile boolean closed;
+
+    private CaptureLog(Path path, FileChannel channel, CaptureSettings settings) {
+        this.path = path;
+        this.channel = channel;
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        this.syncIntervalNanos = settings.getSyncInterval().toNanos();
+        this.syncBytes = settings.getSyncBytes().toBytes();
+        this.writer = new Thread(this::drain, "reqres-capture");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static CaptureLog open(Path path, CaptureSettings settings) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        long validLength = 0;
+        if (Files.exists(path) && Files.size(path) > 0) {
+            try (CaptureReader reader = CaptureReader.open(path)) {
+                if (reader.version() != CaptureFormat.VERSION) {
+                    // appending would mix record layouts in one file
+                    throw new IOException(path + " holds capture version " + reader.version()
+                            + "; move it aside to capture with version " + CaptureFormat.VERSION);
+                }
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+                validLength = reader.validLength();
+            }
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (validLength == 0) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(CaptureFormat.FILE_HEADER_SIZE)
+                        .putInt(CaptureFormat.MAGIC)
+                        .putInt(CaptureFormat.VERSION)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                channel.force(true);
+            } else if (channel.size() > validLength) {
+                log.warn("dropping {} bytes of torn records at the end of {}", channel.size() - validLength, path);
+                channel.truncate(validLength);
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new CaptureLog(path, channel, settings);
+    }
+
+    /**
+     * Queues a record for writing; {@code false} if it was dropped because the writer is behind
+     * or the log is closed.
+     */
+    public boolean append(CaptureRecord record) {
+        if (closed || !queue.offer(record)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    private void drain() {
+        List<CaptureRecord> batch = new ArrayList<>();
+        long unsynced = 0;
+        long lastSync = System.nanoTime();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                long untilSync = unsynced > 0 ? syncIntervalNanos - (System.nanoTime() - lastSync) : syncIntervalNanos;
+                CaptureRecord first = queue.poll(Math.max(untilSync, 0), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    unsynced += write(batch);
+                    batch.clear();
+                }
+                if (unsynced > 0 && (unsynced >= syncBytes || System.nanoTime() - lastSync >= syncIntervalNanos)) {
+                    sync();
+                    unsynced = 0;
+                    lastSync = System.nanoTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sync();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("could not close capture file {}", path, e);
+            }
+        }
+    }
+
+    private long write(List<CaptureRecord> batch) {
+        buffer.clear();
+        int records = 0;
+        for (CaptureRecord record : batch) {
+            int size = CaptureFormat.maxSize(record);
+            if (size > CaptureFormat.MAX_RECORD_SIZE) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            if (buffer.remaining() < size) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + size));
+                buffer.flip();
+                buffer = larger.put(buffer);
+            }
+            CaptureFormat.write(buffer, record);
+            records++;
+        }
+        buffer.flip();
+        int bytes = buffer.remaining();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            written.addAndGet(records);
+        } catch (IOException e) {
+            log.warn("could not append {} records to {}", records, path, e);
+            dropped.addAndGet(records);
+        }
+        if (buffer.capacity() > INITIAL_BUFFER_SIZE * 16) {
+            // an unusually large batch should not pin its buffer for the rest of the run
+            buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        }
+        return bytes;
+    }
+
+    private void sync() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            log.warn("could not sync capture file {}", path, e);
+        }
+    }
+
+    /**
+     * Writes and syncs whatever is queued, then closes the file.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
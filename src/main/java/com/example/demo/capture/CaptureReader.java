@@ -0,0 +1,120 @@
+package com.example.demo.capture;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the records of a capture file in the order they were written (completion order, so
+ * start times are only roughly ascending). Reading stops quietly at the first torn or corrupt
+ * frame, which is what a crash while appending leaves behind.
+ */
+public final class CaptureReader implements Iterator<CaptureRecord>, AutoCloseable {
+
+    private final DataInputStream in;
+
+    private long validLength = CaptureFormat.FILE_HEADER_SIZE;
+
+    private CaptureRecord next;
+
+    private boolean done;
+
+    private final int version;
+
+    private CaptureReader(DataInputStream in, int version) {
+        this.in = in;
+        this.version = version;
+    }
+
+    public static CaptureReader open(Path path) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        try {
+            if (in.readInt() != CaptureFormat.MAGIC) {
+                throw new IOException(path + " is not a capture file");
+            }
+            int version = in.readInt();
+            if (version < CaptureFormat.MIN_READ_VERSION || version > CaptureFormat.VERSION) {
+                throw new IOException("unsupported capture version " + version + " in " + path);
+            }
+            return new CaptureReader(in, version);
+        } catch (IOException e) {
+            in.close();
+            throw e instanceof EOFException ? new IOException(path + " is not a capture file", e) : e;
+        }
+    }
+
+    /**
+     * Format version the file was written with.
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Bytes up to the end of the last intact record returned so far.
+     */
+    public long validLength() {
+        return validLength;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public CaptureRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CaptureRecord record = next;
+        next = null;
+        return record;
+    }
+
+    private CaptureRecord readRecord() throws IOException {
+        int length;
+        int crc;
+        try {
+            length = in.readInt();
+            crc = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || length > CaptureFormat.MAX_RECORD_SIZE) {
+            return null;
+        }
+        byte[] payload = in.readNBytes(length);
+        if (payload.length < length || CaptureFormat.crc(payload) != crc) {
+            return null;
+        }
+        CaptureRecord record;
+        try {
+            record = CaptureFormat.read(ByteBuffer.wrap(payload), version);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        validLength += CaptureFormat.FRAME_HEADER_SIZE + length;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.capture;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * One recorded exchange. Times are wall-clock microseconds for the start and nanoseconds from it
+ * for the response headers and the end of the body; {@code status} is 0 and {@code error} set when
+ * no response arrived. Bodies may have been cut at {@code reqres.capture.maxBodySize}.
+ */
+@Value
+@Builder
+public class CaptureRecord {
+
+    long startMicros;
+
+    /**
+     * Time to response headers, or -1 without a response.
+     */
+    @Builder.Default
+    long headersNanos = -1;
+
+    long durationNanos;
+
+    String method;
+
+    /**
+     * {@link com.example.demo.client.Endpoint} name, if the call was made by the reqres client.
+     */
+    String endpoint;
+
+    String uri;
+
+    /**
+     * Template the URI was expanded from, when the caller passed one to {@code WebClient}; absent
+     * in captures of format version 1.
+     */
+    String uriTemplate;
+
+    @Builder.Default
+    HttpHeaders requestHeaders = HttpHeaders.EMPTY;
+
+    @Builder.Default
+    byte[] requestBody = new byte[0];
+
+    boolean requestTruncated;
+
+    int status;
+
+    String error;
+
+    @Builder.Default
+    HttpHeaders responseHeaders = HttpHeaders.EMPTY;
+
+    @Builder.Default
+    byte[] responseBody = new byte[0];
+
+    boolean responseTruncated;
+}
@@ -0,0 +1,120 @@
+package com.example.demo.capture;
+
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.filter.CaptureFilter;
+import com.example.demo.entity.CaptureSettings;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the exchanges of a capture file through a {@link WebClient} again, so the client's filters
+ * and pool see the recorded traffic shape. In {@code TIMING} mode each call starts at its recorded
+ * offset divided by {@code replaySpeed} (at most {@code replayConcurrency} in flight; speed 0 means
+ * no pauses); in {@code CONCURRENCY} mode exactly {@code replayConcurrency} calls are kept in
+ * flight. With a {@code target}, scheme, host and port of every recorded URI are replaced by its
+ * own, e.g. to replay production traffic against the stub server.
+ * <p>
+ * Records are read lazily, so a capture of any size is replayed in constant memory. The file is in
+ * completion order; a call that started earlier than its predecessor in the file is sent as soon
+ * as it is read.
+ */
+public class CaptureReplayer {
+
+    private static final Set<String> NOT_REPLAYED = Set.of("host", "content-length", "transfer-encoding", "connection");
+
+    private final WebClient webClient;
+
+    private final URI target;
+
+    public CaptureReplayer(WebClient webClient, @Nullable URI target) {
+        this.webClient = webClient;
+        this.target = target;
+    }
+
+    public Mono<ReplayReport> replay(Path file, CaptureSettings settings) {
+        boolean paced = settings.getReplayMode() == CaptureSettings.ReplayMode.TIMING && settings.getReplaySpeed() > 0;
+        double speed = settings.getReplaySpeed();
+        return Mono.defer(() -> {
+            ReplayReport report = new ReplayReport();
+            long start = System.nanoTime();
+            AtomicLong firstMicros = new AtomicLong(Long.MIN_VALUE);
+            Flux<CaptureRecord> records = Flux.using(() -> CaptureReader.open(file), reader -> Flux.fromIterable(() -> reader),
+                            reader -> {
+                                try {
+                                    reader.close();
+                                } catch (IOException ignored) {
+                                    // read-only; nothing to lose
+                                }
+                            })
+                    .subscribeOn(Schedulers.boundedElastic());
+            return records
+                    .flatMap(record -> {
+                        if (!paced) {
+                            return send(record, report, System.nanoTime());
+                        }
+                        firstMicros.compareAndSet(Long.MIN_VALUE, record.getStartMicros());
+                        long due = start + (long) ((record.getStartMicros() - firstMicros.get()) * 1_000 / speed);
+                        long wait = due - System.nanoTime();
+                        return wait <= 0
+                                ? send(record, report, due)
+                                : Mono.delay(Duration.ofNanos(wait)).then(send(record, report, due));
+                    }, settings.getReplayConcurrency())
+                    .then(Mono.fromSupplier(() -> {
+                        report.finished(System.nanoTime() - start);
+                        return report;
+                    }));
+        });
+    }
+
+    private Mono<Void> send(CaptureRecord record, ReplayReport report, long dueNanos) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            report.started(start - dueNanos);
+            WebClient.RequestBodySpec spec = webClient.method(HttpMethod.valueOf(record.getMethod()))
+                    .uri(rewrite(URI.create(record.getUri())))
+                    .attribute(CaptureFilter.SKIP_ATTRIBUTE, true)
+                    .headers(headers -> copyHeaders(record.getRequestHeaders(), headers));
+            if (record.getEndpoint() != null) {
+                spec.attribute(ReqresClient.ENDPOINT_ATTRIBUTE, Endpoint.valueOf(record.getEndpoint()));
+            }
+            WebClient.RequestHeadersSpec<?> withBody = record.getRequestBody().length == 0
+                    ? spec
+                    : spec.bodyValue(record.getRequestBody());
+            return withBody.exchangeToMono(response -> response.releaseBody().thenReturn(response.rawStatusCode()))
+                    .doOnNext(status -> report.completed(record, status, System.nanoTime() - start))
+                    .doOnError(error -> report.failed(record, error, System.nanoTime() - start))
+                    .onErrorResume(error -> Mono.empty())
+                    .then();
+        });
+    }
+
+    private URI rewrite(URI uri) {
+        if (target == null) {
+            return uri;
+        }
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return URI.create(target.getScheme() + "://" + target.getRawAuthority() + uri.getRawPath() + query);
+    }
+
+    private static void copyHeaders(HttpHeaders from, HttpHeaders to) {
+        from.forEach((name, values) -> {
+            if (!NOT_REPLAYED.contains(name.toLowerCase(Locale.ROOT))) {
+                to.put(name, values);
+            }
+        });
+    }
+}
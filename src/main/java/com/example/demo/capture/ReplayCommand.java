@@ -0,0 +1,43 @@
+package com.example.demo.capture;
+
+import com.example.demo.entity.CaptureSettings;
+import com.example.demo.entity.Url;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Replays {@code reqres.capture.file} against the configured upstream (the stub, with
+ * {@code reqres.stub.enabled}) when the application is started with {@code --mode=replay}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mode", havingValue = "replay")
+public class ReplayCommand implements ApplicationRunner {
+
+    private final WebClient webClient;
+
+    private final Url urls;
+
+    private final CaptureSettings settings;
+
+    public ReplayCommand(WebClient webClient, Url reqresProperties, CaptureSettings settings) {
+        this.webClient = webClient;
+        this.urls = reqresProperties;
+        this.settings = settings;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        CaptureReplayer replayer = new CaptureReplayer(webClient, URI.create(urls.getUsersApi()));
+        ReplayReport report = replayer.replay(Path.of(settings.getFile()), settings).block();
+        Path path = report.write(settings);
+        log.info("replay report written to {}\n{}", path.toAbsolutePath(), report.summary());
+    }
+}
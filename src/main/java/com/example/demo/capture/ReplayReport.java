@@ -0,0 +1,137 @@
+package com.example.demo.capture;
+
+import com.example.demo.entity.CaptureSettings;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of a {@link CaptureReplayer} run: the recorded and the replayed duration of every
+ * exchange side by side (in microseconds), how far calls started behind their schedule, and how
+ * many answered with a different status than in the capture.
+ */
+public final class ReplayReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final Histogram recorded = new ConcurrentHistogram(3);
+
+    private final Histogram replayed = new ConcurrentHistogram(3);
+
+    private final Histogram lateness = new ConcurrentHistogram(3);
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder statusMismatches = new LongAdder();
+
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private volatile long elapsedNanos;
+
+    void started(long lateNanos) {
+        lateness.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(lateNanos, 0)));
+    }
+
+    void completed(CaptureRecord record, int status, long nanos) {
+        record(record, nanos);
+        completed.increment();
+        if (status != record.getStatus()) {
+            statusMismatches.increment();
+        }
+    }
+
+    void failed(CaptureRecord record, Throwable error, long nanos) {
+        record(record, nanos);
+        errors.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    void finished(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    private void record(CaptureRecord record, long nanos) {
+        recorded.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(record.getDurationNanos(), 0)));
+        replayed.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public Histogram getRecorded() {
+        return recorded;
+    }
+
+    public Histogram getReplayed() {
+        return replayed;
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getStatusMismatches() {
+        return statusMismatches.sum();
+    }
+
+    public Map<String, Long> getErrors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    public Path write(CaptureSettings settings) {
+        Path path = Path.of(settings.getReplayReport());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(path), false, "UTF-8")) {
+                out.printf("file=%s mode=%s speed=%s concurrency=%d%n", settings.getFile(), settings.getReplayMode(),
+                        settings.getReplaySpeed(), settings.getReplayConcurrency());
+                out.println();
+                out.print(summary());
+                out.println();
+                out.println("recorded duration, ms:");
+                recorded.outputPercentileDistribution(out, MICROS_PER_MILLI);
+                out.println();
+                out.println("replayed duration, ms:");
+                replayed.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return path;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-9s %9s %9s %9s %9s %9s%n", "", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        line(summary, "recorded", recorded);
+        line(summary, "replayed", replayed);
+        line(summary, "late by", lateness);
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        long total = replayed.getTotalCount();
+        summary.append(String.format("%d calls in %.1fs, %.1f calls/s, %d completed, %d with another status, errors %s%n",
+                total, seconds, total / seconds, getCompleted(), getStatusMismatches(), getErrors()));
+        return summary.toString();
+    }
+
+    private static void line(StringBuilder summary, String name, Histogram histogram) {
+        summary.append(String.format("%-9s %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.BatchSettings;
+import com.example.demo.entity.User;
+import com.example.demo.entity.UserDto;
+import com.example.demo.entity.UsersDto;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces single-user lookups. Lookups arriving within {@code window} of the first one in a
+ * batch (or until {@code maxBatch} distinct ids are waiting) are sorted, and each run of ids that
+ * fits in one page of at most {@code maxPerPage} with at least {@code minDensity} of it wanted is
+ * fetched as a single {@code usersApiWithOffsetAndLimit} page. Isolated ids, ids a page did not
+ * contain (reqres pages are by position, so deletions shift them) and ids of a failed page fall
+ * back to {@code GET /users/{id}}. Callers asking for the same id share one result.
+ */
+@Component
+public class BatchingReqresClient {
+
+    private final ReqresClient client;
+
+    private final BatchSettings settings;
+
+    private final Scheduler timer = Schedulers.parallel();
+
+    private final AtomicLong pageRequests = new AtomicLong();
+
+    private final AtomicLong singleRequests = new AtomicLong();
+
+    private Map<Long, Sinks.One<UserDto>> pending = new LinkedHashMap<>();
+
+    public BatchingReqresClient(ReqresClient client, BatchSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    public Mono<UserDto> getUser(long id) {
+        return Mono.defer(() -> {
+            Sinks.One<UserDto> result;
+            Map<Long, Sinks.One<UserDto>> full = null;
+            synchronized (this) {
+                result = pending.get(id);
+                if (result == null) {
+                    result = Sinks.one();
+                    pending.put(id, result);
+                    if (pending.size() == 1) {
+                        Map<Long, Sinks.One<UserDto>> batch = pending;
+                        timer.schedule(() -> flush(batch), settings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                    if (pending.size() >= settings.getMaxBatch()) {
+                        full = pending;
+                        pending = new LinkedHashMap<>();
+                    }
+                }
+            }
+            if (full != null) {
+                execute(full);
+            }
+            return result.asMono();
+        });
+    }
+
+    public long pageRequests() {
+        return pageRequests.get();
+    }
+
+    public long singleRequests() {
+        return singleRequests.get();
+    }
+
+    private void flush(Map<Long, Sinks.One<UserDto>> batch) {
+        synchronized (this) {
+            // already taken by a size-triggered flush
+            if (pending != batch) {
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        }
+        execute(batch);
+    }
+
+    private void execute(Map<Long, Sinks.One<UserDto>> batch) {
+        long[] ids = batch.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int i = 0;
+        while (i < ids.length) {
+            int end = i;
+            int perPage = 0;
+            for (int k = i + 1; k < ids.length && ids[k] - ids[i] < settings.getMaxPerPage(); k++) {
+                int size = pageSize(ids[i], ids[k]);
+                if (size > 0 && k - i + 1 >= settings.getMinDensity() * size) {
+                    end = k;
+                    perPage = size;
+                }
+            }
+            if (end == i || ids[i] < 1) {
+                single(ids[i], batch.get(ids[i]));
+            } else {
+                Map<Long, Sinks.One<UserDto>> run = new HashMap<>();
+                for (int k = i; k <= end; k++) {
+                    run.put(ids[k], batch.get(ids[k]));
+                }
+                page((int) ((ids[i] - 1) / perPage) + 1, perPage, run);
+            }
+            i = end + 1;
+        }
+    }
+
+    /**
+     * Smallest page size whose page holding {@code first} also holds {@code last}, or 0 if none
+     * fits in {@code maxPerPage}.
+     */
+    private int pageSize(long first, long last) {
+        for (long size = last - first + 1; size <= settings.getMaxPerPage(); size++) {
+            if ((first - 1) / size == (last - 1) / size) {
+                return (int) size;
+            }
+        }
+        return 0;
+    }
+
+    private void page(int page, int perPage, Map<Long, Sinks.One<UserDto>> run) {
+        pageRequests.incrementAndGet();
+        client.getUsers(page, perPage)
+                .doOnNext(users -> {
+                    for (User user : users.getData() == null ? List.<User>of() : users.getData()) {
+                        Sinks.One<UserDto> result = user.getId() == null ? null : run.remove(user.getId());
+                        if (result != null) {
+                            result.tryEmitValue(userDto(user, users));
+                        }
+                    }
+                })
+                .onErrorResume(error -> Mono.empty())
+                .subscribe(null, null, () -> run.forEach(this::single));
+    }
+
+    private void single(long id, Sinks.One<UserDto> result) {
+        singleRequests.incrementAndGet();
+        client.getUser(id).subscribe(result::tryEmitValue, result::tryEmitError, result::tryEmitEmpty);
+    }
+
+    private static UserDto userDto(User user, UsersDto page) {
+        UserDto dto = new UserDto();
+        dto.setData(user);
+        dto.setSupport(page.getSupport());
+        return dto;
+    }
+}
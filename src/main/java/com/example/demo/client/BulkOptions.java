@@ -0,0 +1,23 @@
+package com.example.demo.client;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BulkOptions {
+
+    public static final BulkOptions DEFAULT = BulkOptions.builder().build();
+
+    /**
+     * Upper bound on requests in flight; the source is only pulled as slots free up.
+     */
+    @Builder.Default
+    int maxInFlight = 64;
+
+    /**
+     * Emit results in source order rather than completion order.
+     */
+    @Builder.Default
+    boolean ordered = true;
+}
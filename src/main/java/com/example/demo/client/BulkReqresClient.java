@@ -0,0 +1,79 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.dto.NewUserResponseDto;
+import com.example.demo.dto.UpdateUserResponseDto;
+import com.example.demo.exception.ReqresFailure;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Pushes streams of mutations through {@link ReqresClient} with at most
+ * {@link BulkOptions#getMaxInFlight()} requests outstanding. A failed item is reported as a
+ * {@link BulkResult} carrying its {@link ReqresFailure} instead of terminating the batch.
+ */
+@Component
+public class BulkReqresClient {
+
+    private final ReqresClient client;
+
+    public BulkReqresClient(ReqresClient client) {
+        this.client = client;
+    }
+
+    public Flux<BulkResult<NewUserRequestDto, NewUserResponseDto>> createAll(Publisher<NewUserRequestDto> requests) {
+        return createAll(requests, BulkOptions.DEFAULT);
+    }
+
+    public Flux<BulkResult<NewUserRequestDto, NewUserResponseDto>> createAll(Publisher<NewUserRequestDto> requests,
+                                                                             BulkOptions options) {
+        return run(requests, client::create, options);
+    }
+
+    public Flux<BulkResult<UserUpdate, UpdateUserResponseDto>> updateAll(Publisher<UserUpdate> updates) {
+        return updateAll(updates, BulkOptions.DEFAULT);
+    }
+
+    public Flux<BulkResult<UserUpdate, UpdateUserResponseDto>> updateAll(Publisher<UserUpdate> updates,
+                                                                         BulkOptions options) {
+        return run(updates, update -> client.update(update.getId(), update.getRequest()), options);
+    }
+
+    public Flux<BulkResult<UserUpdate, UpdateUserResponseDto>> patchAll(Publisher<UserUpdate> updates) {
+        return patchAll(updates, BulkOptions.DEFAULT);
+    }
+
+    public Flux<BulkResult<UserUpdate, UpdateUserResponseDto>> patchAll(Publisher<UserUpdate> updates,
+                                                                        BulkOptions options) {
+        return run(updates, update -> client.patch(update.getId(), update.getRequest()), options);
+    }
+
+    public Flux<BulkResult<Long, Void>> deleteAll(Publisher<Long> ids) {
+        return deleteAll(ids, BulkOptions.DEFAULT);
+    }
+
+    public Flux<BulkResult<Long, Void>> deleteAll(Publisher<Long> ids, BulkOptions options) {
+        return run(ids, client::delete, options);
+    }
+
+    private static <I, O> Flux<BulkResult<I, O>> run(Publisher<I> source, Function<I, Mono<O>> operation,
+                                                      BulkOptions options) {
+        Function<I, Mono<BulkResult<I, O>>> call = input -> Mono.defer(() -> operation.apply(input))
+                .map(value -> BulkResult.<I, O>success(input, value))
+                .defaultIfEmpty(BulkResult.success(input, null))
+                .onErrorResume(error -> Mono.just(BulkResult.failure(input, asFailure(error))));
+        return options.isOrdered()
+                ? Flux.from(source).flatMapSequential(call, options.getMaxInFlight(), 1)
+                : Flux.from(source).flatMap(call, options.getMaxInFlight(), 1);
+    }
+
+    private static ReqresFailure asFailure(Throwable error) {
+        return error instanceof ReqresFailure failure
+                ? failure
+                : new ReqresFailure(null, String.valueOf(error.getMessage()), error);
+    }
+}
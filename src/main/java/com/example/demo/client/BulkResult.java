@@ -0,0 +1,27 @@
+package com.example.demo.client;
+
+import com.example.demo.exception.ReqresFailure;
+import lombok.Value;
+
+/**
+ * Outcome of one operation in a bulk call: the input it was issued for and either the response
+ * or the failure that ended it.
+ */
+@Value
+public class BulkResult<I, O> {
+    I input;
+    O value;
+    ReqresFailure failure;
+
+    public static <I, O> BulkResult<I, O> success(I input, O value) {
+        return new BulkResult<>(input, value, null);
+    }
+
+    public static <I, O> BulkResult<I, O> failure(I input, ReqresFailure failure) {
+        return new BulkResult<>(input, null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.client;
+
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class CacheKey {
+    Endpoint endpoint;
+    String id;
+
+    public static CacheKey of(Endpoint endpoint, long id) {
+        return of(endpoint, Long.toString(id));
+    }
+}
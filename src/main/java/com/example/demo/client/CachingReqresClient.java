@@ -0,0 +1,47 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.ResourceDto;
+import com.example.demo.entity.ResourcesDto;
+import com.example.demo.entity.UserDto;
+import com.example.demo.entity.UsersDto;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves single-item and page GETs through the {@link ResponseCache}, revalidating expired
+ * entries with their ETag/Last-Modified instead of downloading them again.
+ */
+@Component
+public class CachingReqresClient {
+
+    private final ReqresClient client;
+
+    private final ResponseCache cache;
+
+    public CachingReqresClient(ReqresClient client, ResponseCache cache) {
+        this.client = client;
+        this.cache = cache;
+    }
+
+    public Mono<UserDto> getUser(long id) {
+        return cache.get(CacheKey.of(Endpoint.USER, id), validators -> client.getUser(id, validators));
+    }
+
+    public Mono<UsersDto> getUsers(int page, int perPage) {
+        return cache.get(CacheKey.of(Endpoint.USERS, page + ":" + perPage),
+                validators -> client.getUsers(page, perPage, validators));
+    }
+
+    public Mono<ResourceDto> getResource(long id) {
+        return cache.get(CacheKey.of(Endpoint.RESOURCE, id), validators -> client.getResource(id, validators));
+    }
+
+    public Mono<ResourcesDto> getResources(int page, int perPage) {
+        return cache.get(CacheKey.of(Endpoint.RESOURCES, page + ":" + perPage),
+                validators -> client.getResources(page, perPage, validators));
+    }
+
+    public ResponseCache.Stats stats() {
+        return cache.stats();
+    }
+}
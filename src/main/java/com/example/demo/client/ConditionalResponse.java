@@ -0,0 +1,22 @@
+package com.example.demo.client;
+
+import lombok.Value;
+
+/**
+ * Outcome of a conditional GET: either a freshly decoded body with its validators, or
+ * {@code notModified} with no body when the server answered {@code 304}.
+ */
+@Value
+public class ConditionalResponse<T> {
+    T body;
+    Validators validators;
+    boolean notModified;
+
+    public static <T> ConditionalResponse<T> of(T body, Validators validators) {
+        return new ConditionalResponse<>(body, validators, false);
+    }
+
+    public static <T> ConditionalResponse<T> notModified(Validators validators) {
+        return new ConditionalResponse<>(null, validators, true);
+    }
+}
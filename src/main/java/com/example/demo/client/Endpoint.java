@@ -0,0 +1,21 @@
+package com.example.demo.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Logical reqres endpoints, named after the {@code reqres.*} property that configures them.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Endpoint {
+
+    USER("usersApi"),
+    USERS("usersApiWithOffsetAndLimit"),
+    RESOURCE("resourcesApi"),
+    RESOURCES("resourcesApiWithOffsetAndLimit"),
+    LOGIN("loginApi"),
+    REGISTRATION("registrationApi");
+
+    private final String template;
+}
@@ -0,0 +1,32 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.PageInfo;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * One signal of a streamed page: either a single element of {@code data} or the page metadata.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageEvent<T> {
+
+    private final T item;
+
+    private final PageInfo info;
+
+    public static <T> PageEvent<T> item(T item) {
+        return new PageEvent<>(item, null);
+    }
+
+    public static <T> PageEvent<T> info(PageInfo info) {
+        return new PageEvent<>(null, info);
+    }
+
+    public boolean isItem() {
+        return item != null;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.dto.NewUserResponseDto;
+import com.example.demo.dto.RegistrationRequest;
+import com.example.demo.dto.RegistrationResponse;
+import com.example.demo.dto.UpdateUserRequestDto;
+import com.example.demo.dto.UpdateUserResponseDto;
+import com.example.demo.entity.PageInfo;
+import com.example.demo.entity.Paged;
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.ResourceDto;
+import com.example.demo.entity.ResourcesDto;
+import com.example.demo.entity.Url;
+import com.example.demo.entity.User;
+import com.example.demo.entity.UserDto;
+import com.example.demo.entity.UsersDto;
+import com.example.demo.exception.ReqresFailure;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Typed, non-blocking access to the reqres API over the shared {@link WebClient}.
+ * URI templates are parsed once at construction; every request carries its {@link Endpoint}
+ * as the {@link #ENDPOINT_ATTRIBUTE} attribute so exchange filters can tell calls apart, and every
+ * failure surfaces as a {@link ReqresFailure} with the endpoint, attempt count and latency.
+ */
+@Component
+public class ReqresClient {
+
+    public static final String ENDPOINT_ATTRIBUTE = ReqresClient.class.getName() + ".endpoint";
+
+    public static final String ATTEMPTS_ATTRIBUTE = ReqresClient.class.getName() + ".attempts";
+
+    private final WebClient webClient;
+
+    private final StreamingPageDecoder pageDecoder;
+
+    private final MediaType[] accept;
+
+    private final URI usersUri;
+
+    private final UriTemplate userUri;
+
+    private final UriTemplate usersPageUri;
+
+    private final UriTemplate resourceUri;
+
+    private final UriTemplate resourcesPageUri;
+
+    private final URI loginUri;
+
+    private final URI registrationUri;
+
+    public ReqresClient(WebClient webClient, Url reqresProperties, StreamingPageDecoder pageDecoder) {
+        this.webClient = webClient;
+        this.pageDecoder = pageDecoder;
+        this.accept = pageDecoder.accept().toArray(MediaType[]::new);
+        this.usersUri = URI.create(reqresProperties.getUsersApi());
+        this.userUri = new UriTemplate(reqresProperties.getUsersApi() + "{id}");
+        this.usersPageUri = new UriTemplate(reqresProperties.getUsersApiWithOffsetAndLimit());
+        this.resourceUri = new UriTemplate(reqresProperties.getResourcesApi() + "{id}");
+        this.resourcesPageUri = new UriTemplate(reqresProperties.getResourcesApiWithOffsetAndLimit());
+        this.loginUri = URI.create(reqresProperties.getLoginApi());
+        this.registrationUri = URI.create(reqresProperties.getRegistrationApi());
+    }
+
+    public Mono<UserDto> getUser(long id) {
+        return exchange(HttpMethod.GET, Endpoint.USER, userUri.expand(id), null, UserDto.class);
+    }
+
+    public Mono<ConditionalResponse<UserDto>> getUser(long id, Validators validators) {
+        return conditional(Endpoint.USER, userUri.expand(id), validators, UserDto.class);
+    }
+
+    public Mono<UsersDto> getUsers(int page, int perPage) {
+        return exchange(HttpMethod.GET, Endpoint.USERS, usersPageUri.expand(page, perPage), null, UsersDto.class);
+    }
+
+    public Mono<ConditionalResponse<UsersDto>> getUsers(int page, int perPage, Validators validators) {
+        return conditional(Endpoint.USERS, usersPageUri.expand(page, perPage), validators, UsersDto.class);
+    }
+
+    public Flux<User> listUsers(int page, int perPage) {
+        return getUsers(page, perPage).flatMapIterable(ReqresClient::items);
+    }
+
+    public Flux<PageEvent<User>> streamUsersPage(int page, int perPage) {
+        return stream(Endpoint.USERS, usersPageUri.expand(page, perPage), User.class);
+    }
+
+    public Flux<User> streamAllUsers(int perPage, int concurrency) {
+        return streamAllUsers(perPage, concurrency, perPage);
+    }
+
+    /**
+     * Walks every users page: page 1 is streamed first and, once its page info is decoded (as soon as
+     * {@code data} opens when the paging fields precede it, else at the end of the body), the rest
+     * are requested with at most {@code concurrency} pages in flight and
+     * re-emitted in page order, so users come out in id order.
+     */
+    public Flux<User> streamAllUsers(int perPage, int concurrency, int prefetch) {
+        return streamAll(page -> streamUsersPage(page, perPage), concurrency, prefetch);
+    }
+
+    public Mono<ResourceDto> getResource(long id) {
+        return exchange(HttpMethod.GET, Endpoint.RESOURCE, resourceUri.expand(id), null, ResourceDto.class);
+    }
+
+    public Mono<ConditionalResponse<ResourceDto>> getResource(long id, Validators validators) {
+        return conditional(Endpoint.RESOURCE, resourceUri.expand(id), validators, ResourceDto.class);
+    }
+
+    public Mono<ResourcesDto> getResources(int page, int perPage) {
+        return exchange(HttpMethod.GET, Endpoint.RESOURCES, resourcesPageUri.expand(page, perPage), null, ResourcesDto.class);
+    }
+
+    public Mono<ConditionalResponse<ResourcesDto>> getResources(int page, int perPage, Validators validators) {
+        return conditional(Endpoint.RESOURCES, resourcesPageUri.expand(page, perPage), validators, ResourcesDto.class);
+    }
+
+    public Flux<Resource> listResources(int page, int perPage) {
+        return getResources(page, perPage).flatMapIterable(ReqresClient::items);
+    }
+
+    public Flux<PageEvent<Resource>> streamResourcesPage(int page, int perPage) {
+        return stream(Endpoint.RESOURCES, resourcesPageUri.expand(page, perPage), Resource.class);
+    }
+
+    public Flux<Resource> streamAllResources(int perPage, int concurrency) {
+        return streamAllResources(perPage, concurrency, perPage);
+    }
+
+    public Flux<Resource> streamAllResources(int perPage, int concurrency, int prefetch) {
+        return streamAll(page -> streamResourcesPage(page, perPage), concurrency, prefetch);
+    }
+
+    public Mono<NewUserResponseDto> create(NewUserRequestDto request) {
+        return exchange(HttpMethod.POST, Endpoint.USER, usersUri, request, NewUserResponseDto.class);
+    }
+
+    public Mono<UpdateUserResponseDto> update(long id, UpdateUserRequestDto request) {
+        return exchange(HttpMethod.PUT, Endpoint.USER, userUri.expand(id), request, UpdateUserResponseDto.class);
+    }
+
+    public Mono<UpdateUserResponseDto> patch(long id, UpdateUserRequestDto request) {
+        return exchange(HttpMethod.PATCH, Endpoint.USER, userUri.expand(id), request, UpdateUserResponseDto.class);
+    }
+
+    public Mono<Void> delete(long id) {
+        return exchange(HttpMethod.DELETE, Endpoint.USER, userUri.expand(id), null, Void.class);
+    }
+
+    public Mono<RegistrationResponse> register(RegistrationRequest request) {
+        return exchange(HttpMethod.POST, Endpoint.REGISTRATION, registrationUri, request, RegistrationResponse.class);
+    }
+
+    public Mono<RegistrationResponse> login(RegistrationRequest request) {
+        return exchange(HttpMethod.POST, Endpoint.LOGIN, loginUri, request, RegistrationResponse.class);
+    }
+
+    /**
+     * Called by exchange filters for every physical attempt they make on behalf of one call.
+     */
+    public static void countAttempt(ClientRequest request) {
+        request.attribute(ATTEMPTS_ATTRIBUTE).ifPresent(attempts -> ((AtomicInteger) attempts).incrementAndGet());
+    }
+
+    private static <T> Flux<T> streamAll(IntFunction<Flux<PageEvent<T>>> pages, int concurrency, int prefetch) {
+        return pages.apply(1).publish(first -> Flux.mergeSequential(
+                first.filter(PageEvent::isItem).map(PageEvent::getItem),
+                first.filter(event -> !event.isItem()).next()
+                        .flatMapMany(event -> Flux.range(2, Math.max(0, totalPages(event.getInfo()) - 1)))
+                        .flatMapSequential(page -> pages.apply(page).filter(PageEvent::isItem).map(PageEvent::getItem),
+                                concurrency, prefetch)));
+    }
+
+    private static <T> List<T> items(Paged<T> page) {
+        return page.getData() == null ? Collections.emptyList() : page.getData();
+    }
+
+    private static int totalPages(PageInfo page) {
+        return page.getTotal_pages() == null ? 1 : page.getTotal_pages();
+    }
+
+    private <T> Flux<PageEvent<T>> stream(Endpoint endpoint, URI uri, Class<T> type) {
+        return Flux.defer(() -> {
+            Call call = new Call(endpoint);
+            return call.request(HttpMethod.GET, uri)
+                    .retrieve()
+                    .onStatus(HttpStatus::isError, call::failure)
+                    .toEntityFlux(DataBuffer.class)
+                    .flatMapMany(entity -> pageDecoder.decode(entity.getBody(), entity.getHeaders().getContentType(), type))
+                    .onErrorMap(call::failure);
+        });
+    }
+
+    private <T> Mono<ConditionalResponse<T>> conditional(Endpoint endpoint, URI uri, Validators validators, Class<T> type) {
+        return Mono.defer(() -> {
+            Call call = new Call(endpoint);
+            return call.request(HttpMethod.GET, uri)
+                    .headers(headers -> {
+                        if (validators.getEtag() != null) {
+                            headers.setIfNoneMatch(validators.getEtag());
+                        }
+                        if (validators.getLastModified() != null) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, validators.getLastModified());
+                        }
+                    })
+                    .exchangeToMono(response -> {
+                        if (response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                            return response.releaseBody().thenReturn(ConditionalResponse.<T>notModified(validators));
+                        }
+                        if (response.statusCode().isError()) {
+                            return call.failure(response).flatMap(Mono::error);
+                        }
+                        ClientResponse.Headers headers = response.headers();
+                        Validators received = new Validators(headers.asHttpHeaders().getETag(),
+                                headers.asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+                        return response.bodyToMono(type).map(body -> ConditionalResponse.of(body, received));
+                    })
+                    .onErrorMap(call::failure);
+        });
+    }
+
+    private <T> Mono<T> exchange(HttpMethod method, Endpoint endpoint, URI uri, Object body, Class<T> type) {
+        return Mono.defer(() -> {
+            Call call = new Call(endpoint);
+            WebClient.RequestBodySpec spec = call.request(method, uri);
+            WebClient.RequestHeadersSpec<?> request = body == null
+                    ? spec
+                    : spec.contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+            return request.retrieve()
+                    .onStatus(HttpStatus::isError, call::failure)
+                    .bodyToMono(type)
+                    .onErrorMap(call::failure);
+        });
+    }
+
+    /**
+     * Per-subscription state of one logical call: when it started and how many attempts the
+     * exchange filters made, so failures can report both.
+     */
+    private final class Call {
+
+        private final Endpoint endpoint;
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private final long start = System.nanoTime();
+
+        Call(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        WebClient.RequestBodySpec request(HttpMethod method, URI uri) {
+            return webClient.method(method)
+                    .uri(uri)
+                    .attribute(ENDPOINT_ATTRIBUTE, endpoint)
+                    .attribute(ATTEMPTS_ATTRIBUTE, attempts)
+                    .accept(accept);
+        }
+
+        Mono<ReqresFailure> failure(ClientResponse response) {
+            return response.bodyToMono(String.class)
+                    .defaultIfEmpty("")
+                    .map(body -> new ReqresFailure(response.statusCode(), endpoint.getTemplate(),
+                            Math.max(1, attempts.get()), Duration.ofNanos(System.nanoTime() - start), body, null));
+        }
+
+        Throwable failure(Throwable error) {
+            if (error instanceof ReqresFailure) {
+                return error;
+            }
+            return new ReqresFailure(null, endpoint.getTemplate(), Math.max(1, attempts.get()),
+                    Duration.ofNanos(System.nanoTime() - start), String.valueOf(error.getMessage()), error);
+        }
+    }
+}
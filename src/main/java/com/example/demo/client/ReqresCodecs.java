@@ -0,0 +1,223 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.CodecSettings;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ClientCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2CodecSupport;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jackson setup for reqres traffic, separate from the application's own {@link ObjectMapper}: a
+ * copy of it with Blackbird, an {@link ObjectReader} and {@link ObjectWriter} resolved once per
+ * DTO class instead of per message, Spring codecs that use them for whole-body reads and writes,
+ * and optionally a Smile mapper for servers that answer {@code application/x-jackson-smile}.
+ */
+@Component
+public class ReqresCodecs {
+
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    // without explicit mime types the Jackson codecs fall back to the JSON ones, even for Smile
+    private static final MimeType[] SMILE_MIME_TYPES = {SMILE, new MimeType("application", "*+x-jackson-smile")};
+
+    private final CodecSettings settings;
+
+    private final Format json;
+
+    private final Format smile;
+
+    public ReqresCodecs(ObjectMapper objectMapper, CodecSettings settings) {
+        this.settings = settings;
+        this.json = new Format(configure(objectMapper.copy()));
+        this.smile = settings.isSmile() ? new Format(configure(new ObjectMapper(new SmileFactory()))) : null;
+    }
+
+    public ObjectMapper json() {
+        return json.mapper;
+    }
+
+    /**
+     * The mapper for a response of {@code contentType}: Smile when enabled and announced, JSON
+     * otherwise.
+     */
+    public ObjectMapper mapper(@Nullable MediaType contentType) {
+        return format(contentType).mapper;
+    }
+
+    public ObjectReader reader(@Nullable MediaType contentType, Class<?> type) {
+        return format(contentType).reader(type);
+    }
+
+    public ObjectReader reader(Class<?> type) {
+        return json.reader(type);
+    }
+
+    public ObjectWriter writer(Class<?> type) {
+        return json.writer(type);
+    }
+
+    /**
+     * Media types to send as {@code Accept}, most preferred first.
+     */
+    public List<MediaType> accept() {
+        return smile == null ? List.of(MediaType.APPLICATION_JSON) : List.of(SMILE, MediaType.APPLICATION_JSON);
+    }
+
+    public void configure(ClientCodecConfigurer configurer) {
+        int maxInMemorySize = (int) Math.min(Integer.MAX_VALUE, settings.getMaxInMemorySize().toBytes());
+        configurer.defaultCodecs().maxInMemorySize(maxInMemorySize);
+        configurer.defaultCodecs().jackson2JsonDecoder(new JsonDecoder(json));
+        configurer.defaultCodecs().jackson2JsonEncoder(new JsonEncoder(json));
+        if (smile != null) {
+            SmileDecoder decoder = new SmileDecoder(smile);
+            decoder.setMaxInMemorySize(maxInMemorySize);
+            configurer.customCodecs().register(decoder);
+            configurer.customCodecs().register(new Jackson2SmileEncoder(smile.mapper, SMILE_MIME_TYPES));
+        }
+    }
+
+    private Format format(@Nullable MediaType contentType) {
+        return smile != null && contentType != null && SMILE.isCompatibleWith(contentType) ? smile : json;
+    }
+
+    private ObjectMapper configure(ObjectMapper mapper) {
+        if (settings.isBlackbird()) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        // reqres adds fields over time and some DTOs carry none worth failing on
+        return mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    }
+
+    /**
+     * Cached readers and writers are only used for plain classes without a JSON view; anything else
+     * goes through the stock codec path.
+     */
+    private static Class<?> plainClass(ResolvableType type, @Nullable Map<String, Object> hints) {
+        if (hints != null && hints.containsKey(Jackson2CodecSupport.JSON_VIEW_HINT)) {
+            return null;
+        }
+        return type.getType() instanceof Class<?> cls && !cls.isArray() ? cls : null;
+    }
+
+    private static Object read(ObjectReader reader, DataBuffer buffer) {
+        try {
+            return reader.readValue(buffer.asInputStream());
+        } catch (IOException e) {
+            throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static final class Format {
+
+        private final ObjectMapper mapper;
+
+        private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+        private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+        Format(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        ObjectReader reader(Class<?> type) {
+            return readers.computeIfAbsent(type, mapper::readerFor);
+        }
+
+        ObjectWriter writer(Class<?> type) {
+            return writers.computeIfAbsent(type, mapper::writerFor);
+        }
+    }
+
+    private static final class JsonDecoder extends Jackson2JsonDecoder {
+
+        private final Format format;
+
+        JsonDecoder(Format format) {
+            super(format.mapper);
+            this.format = format;
+        }
+
+        @Override
+        public Object decode(DataBuffer dataBuffer, ResolvableType targetType, @Nullable MimeType mimeType,
+                             @Nullable Map<String, Object> hints) {
+            Class<?> type = plainClass(targetType, hints);
+            // Jackson detects UTF-8/16/32 by itself; other charsets need Spring's transcoding
+            boolean unicode = mimeType == null || mimeType.getCharset() == null
+                    || mimeType.getCharset().name().startsWith("UTF-");
+            return type == null || !unicode
+                    ? super.decode(dataBuffer, targetType, mimeType, hints)
+                    : read(format.reader(type), dataBuffer);
+        }
+    }
+
+    private static final class SmileDecoder extends Jackson2SmileDecoder {
+
+        private final Format format;
+
+        SmileDecoder(Format format) {
+            super(format.mapper, SMILE_MIME_TYPES);
+            this.format = format;
+        }
+
+        @Override
+        public Object decode(DataBuffer dataBuffer, ResolvableType targetType, @Nullable MimeType mimeType,
+                             @Nullable Map<String, Object> hints) {
+            Class<?> type = plainClass(targetType, hints);
+            return type == null ? super.decode(dataBuffer, targetType, mimeType, hints) : read(format.reader(type), dataBuffer);
+        }
+    }
+
+    private static final class JsonEncoder extends Jackson2JsonEncoder {
+
+        private final Format format;
+
+        JsonEncoder(Format format) {
+            super(format.mapper);
+            this.format = format;
+        }
+
+        @Override
+        public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                      @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            Class<?> type = plainClass(valueType, hints);
+            boolean utf8 = mimeType == null || mimeType.getCharset() == null
+                    || StandardCharsets.UTF_8.equals(mimeType.getCharset());
+            if (type == null || type != value.getClass() || !utf8) {
+                return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+            }
+            try {
+                return bufferFactory.wrap(format.writer(type).writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new EncodingException("JSON encoding error: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.dto.NewUserResponseDto;
+import com.example.demo.dto.RegistrationRequest;
+import com.example.demo.dto.RegistrationResponse;
+import com.example.demo.dto.UpdateUserRequestDto;
+import com.example.demo.dto.UpdateUserResponseDto;
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.ResourceDto;
+import com.example.demo.entity.ResourcesDto;
+import com.example.demo.entity.User;
+import com.example.demo.entity.UserDto;
+import com.example.demo.entity.UsersDto;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Blocking view of {@link ReqresClient} for imperative callers. Each call parks the calling thread
+ * until the response is decoded; on a virtual thread that only unmounts it from its carrier, so
+ * thousands of callers cost thousands of small heap stacks rather than platform threads.
+ * <p>
+ * Calls are not moved onto the executor: they block whichever thread makes them, so a caller on a
+ * platform thread still ties that thread up for the round trip. {@link #submit(Callable)} runs a
+ * task on this client's virtual-thread executor for callers that are not on one already. Calling
+ * from a Reactor non-blocking thread is rejected.
+ */
+@Component
+public class ReqresSyncClient implements AutoCloseable {
+
+    private final ReqresClient client;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("reqres-sync-", 0).factory());
+
+    public ReqresSyncClient(ReqresClient client) {
+        this.client = client;
+    }
+
+    public UserDto getUser(long id) {
+        return await(() -> client.getUser(id));
+    }
+
+    public UsersDto getUsers(int page, int perPage) {
+        return await(() -> client.getUsers(page, perPage));
+    }
+
+    public List<User> listUsers(int page, int perPage) {
+        return await(() -> client.listUsers(page, perPage).collectList());
+    }
+
+    public ResourceDto getResource(long id) {
+        return await(() -> client.getResource(id));
+    }
+
+    public ResourcesDto getResources(int page, int perPage) {
+        return await(() -> client.getResources(page, perPage));
+    }
+
+    public List<Resource> listResources(int page, int perPage) {
+        return await(() -> client.listResources(page, perPage).collectList());
+    }
+
+    public NewUserResponseDto create(NewUserRequestDto request) {
+        return await(() -> client.create(request));
+    }
+
+    public UpdateUserResponseDto update(long id, UpdateUserRequestDto request) {
+        return await(() -> client.update(id, request));
+    }
+
+    public UpdateUserResponseDto patch(long id, UpdateUserRequestDto request) {
+        return await(() -> client.patch(id, request));
+    }
+
+    public void delete(long id) {
+        await(() -> client.delete(id));
+    }
+
+    public RegistrationResponse register(RegistrationRequest request) {
+        return await(() -> client.register(request));
+    }
+
+    public RegistrationResponse login(RegistrationRequest request) {
+        return await(() -> client.login(request));
+    }
+
+    /**
+     * Runs {@code task} on a fresh virtual thread, so it may call this client as often as it likes.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static <T> T await(Supplier<Mono<T>> call) {
+        if (Schedulers.isInNonBlockingThread()) {
+            throw new IllegalStateException("ReqresSyncClient called from non-blocking thread "
+                    + Thread.currentThread().getName() + "; use ReqresClient there");
+        }
+        // failures are already ReqresFailure (unchecked), so block() rethrows them unwrapped
+        return call.get().block();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.CacheSettings;
+import com.example.demo.exception.ReqresFailure;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for reqres GETs. Entries are bounded by count and by weight (see
+ * {@link Weighted}), 404s are cached with their own
+ * shorter TTL, and concurrent misses for the same key share one upstream call. Expired entries
+ * that carry validators are kept for {@code revalidateFor} and refreshed with a conditional GET;
+ * a {@code 304} renews them without decoding anything.
+ * <p>
+ * {@link #invalidate(Endpoint...)} drops every entry of an endpoint in constant time: each entry
+ * records its endpoint's generation when stored, and entries of an older generation are treated
+ * as absent (and removed) when next looked up, or left to eviction.
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<CacheKey, Entry> cache;
+
+    private final ConcurrentMap<CacheKey, Mono<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray generations = new AtomicLongArray(Endpoint.values().length);
+
+    private final long ttlNanos;
+
+    private final long notFoundTtlNanos;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder revalidated = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(CacheSettings settings) {
+        this.ttlNanos = settings.getTtl().toNanos();
+        this.notFoundTtlNanos = settings.getNotFoundTtl().toNanos();
+        // Guava takes either a count or a weight bound; a floor on each entry's weight gives both
+        long maximumWeight = Math.max(1, settings.getMaximumWeight().toBytes());
+        int minimumWeight = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maximumWeight / Math.max(1, settings.getMaximumSize())));
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .<CacheKey, Entry>weigher((key, entry) -> entry.getValue() instanceof Weighted weighted
+                        ? (int) Math.min(Integer.MAX_VALUE, Math.max(minimumWeight, weighted.weight()))
+                        : minimumWeight)
+                .expireAfterWrite(Math.max(ttlNanos, notFoundTtlNanos) + settings.getRevalidateFor().toNanos(),
+                        TimeUnit.NANOSECONDS)
+                .<CacheKey, Entry>removalListener(notification -> {
+                    if (notification.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    public <T> Mono<T> get(CacheKey key, Supplier<Mono<T>> loader) {
+        return get(key, validators -> loader.get().map(value -> ConditionalResponse.of(value, Validators.NONE)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(CacheKey key, Function<Validators, Mono<ConditionalResponse<T>>> loader) {
+        return Mono.defer(() -> {
+            long generation = generation(key);
+            Entry entry = current(key, generation);
+            if (entry != null && entry.getExpiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.getValue() != null
+                        ? Mono.just((T) entry.getValue())
+                        : Mono.error(new ReqresFailure(HttpStatus.NOT_FOUND, entry.getError()));
+            }
+            misses.increment();
+            Mono<Object> pending = inFlight.get(key);
+            if (pending != null) {
+                coalesced.increment();
+                return (Mono<T>) pending;
+            }
+            Entry stale = entry != null && entry.getValue() != null && !entry.getValidators().isEmpty() ? entry : null;
+            return (Mono<T>) inFlight.computeIfAbsent(key,
+                    k -> load(k, generation, stale, (Function<Validators, Mono<ConditionalResponse<Object>>>) (Function<?, ?>) loader));
+        });
+    }
+
+    /**
+     * The cached value for {@code key} without loading anything, or {@code null} if there is none
+     * (cached 404s included). A fresh entry counts as a hit, anything else as a miss.
+     */
+    public Lookup lookup(CacheKey key) {
+        Entry entry = current(key, generation(key));
+        boolean fresh = entry != null && entry.getValue() != null && entry.getExpiresAt() - System.nanoTime() > 0;
+        if (fresh) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry == null || entry.getValue() == null ? null : new Lookup(entry.getValue(), entry.getValidators(), fresh);
+    }
+
+    /**
+     * Stores a value obtained outside {@link #get}, e.g. a body that was streamed through to a
+     * caller while being copied.
+     */
+    public void put(CacheKey key, Object value, Validators validators) {
+        put(key, value, validators, generation(key));
+    }
+
+    /**
+     * Like {@link #put(CacheKey, Object, Validators)}, for a value fetched when the key's endpoint
+     * was at {@code generation}: if it has been invalidated since, the value is already stale.
+     */
+    public void put(CacheKey key, Object value, Validators validators, long generation) {
+        cache.put(key, new Entry(value, null, validators, System.nanoTime() + ttlNanos, generation));
+    }
+
+    public void invalidate(CacheKey key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Drops every entry of the given endpoints, without scanning the cache.
+     */
+    public void invalidate(Endpoint... endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            generations.incrementAndGet(endpoint.ordinal());
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), coalesced.sum(), revalidated.sum(), evictions.sum(), cache.size());
+    }
+
+    public long generation(CacheKey key) {
+        return generations.get(key.getEndpoint().ordinal());
+    }
+
+    private Entry current(CacheKey key, long generation) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.getGeneration() != generation) {
+            cache.asMap().remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private Mono<Object> load(CacheKey key, long generation, Entry stale, Function<Validators, Mono<ConditionalResponse<Object>>> loader) {
+        return loader.apply(stale == null ? Validators.NONE : stale.getValidators())
+                .map(response -> {
+                    long expiresAt = System.nanoTime() + ttlNanos;
+                    if (response.isNotModified() && stale != null) {
+                        revalidated.increment();
+                        cache.put(key, new Entry(stale.getValue(), null, stale.getValidators(), expiresAt, generation));
+                        return stale.getValue();
+                    }
+                    cache.put(key, new Entry(response.getBody(), null, response.getValidators(), expiresAt, generation));
+                    return response.getBody();
+                })
+                .doOnError(ReqresFailure.class, failure -> {
+                    if (failure.getStatus() == HttpStatus.NOT_FOUND) {
+                        cache.put(key, new Entry(null, failure.getMessage(), Validators.NONE,
+                                System.nanoTime() + notFoundTtlNanos, generation));
+                    }
+                })
+                .doFinally(signal -> inFlight.remove(key))
+                .cache();
+    }
+
+    /**
+     * A cached value that knows its approximate size in bytes.
+     */
+    public interface Weighted {
+        long weight();
+    }
+
+    @Value
+    static class Entry {
+        Object value;
+        String error;
+        Validators validators;
+        long expiresAt;
+        // generation of the key's endpoint when the value was loaded; older ones are invalidated
+        long generation;
+    }
+
+    @Value
+    public static class Lookup {
+        Object value;
+        Validators validators;
+        boolean fresh;
+    }
+
+    @Value
+    public static class Stats {
+        long hits;
+        long misses;
+        long coalesced;
+        long revalidated;
+        long evictions;
+        long size;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.CodecSettings;
+import com.example.demo.entity.PageInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a paged reqres body incrementally with Jackson's non-blocking parser. Each element of
+ * {@code data} is emitted as soon as its closing brace arrives, so only the element currently being
+ * parsed is ever buffered. The page metadata is emitted once: when {@code data} starts if all four
+ * paging fields came before it, otherwise at the end of the document, so it is always complete. Smile bodies are parsed the same way when
+ * {@link ReqresCodecs} has Smile enabled.
+ */
+@Component
+public class StreamingPageDecoder {
+
+    private final ReqresCodecs codecs;
+
+    public StreamingPageDecoder(ObjectMapper objectMapper) {
+        this(new ReqresCodecs(objectMapper, new CodecSettings()));
+    }
+
+    @Autowired
+    public StreamingPageDecoder(ReqresCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * Media types this decoder can stream, most preferred first.
+     */
+    public List<MediaType> accept() {
+        return codecs.accept();
+    }
+
+    public <T> Flux<PageEvent<T>> decode(Flux<DataBuffer> body, Class<T> type) {
+        return decode(body, MediaType.APPLICATION_JSON, type);
+    }
+
+    public <T> Flux<PageEvent<T>> decode(Flux<DataBuffer> body, @Nullable MediaType contentType, Class<T> type) {
+        return Flux.defer(() -> {
+            State<T> state = new State<>(codecs.mapper(contentType), codecs.reader(contentType, type));
+            return body.concatMapIterable(state::feed)
+                    .concatWith(Mono.fromCallable(state::finish).flatMapIterable(events -> events))
+                    .doFinally(signal -> state.close())
+                    // buffers prefetched but never fed when the caller cancels or decoding fails
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    private static final class State<T> {
+
+        private final ObjectMapper objectMapper;
+
+        private final ObjectReader reader;
+
+        private final JsonParser parser;
+
+        private final ByteArrayFeeder feeder;
+
+        private final PageInfo info = new PageInfo();
+
+        private boolean infoEmitted;
+
+        private int depth;
+
+        private String field;
+
+        private boolean inData;
+
+        private TokenBuffer element;
+
+        private int elementDepth;
+
+        State(ObjectMapper objectMapper, ObjectReader reader) {
+            this.objectMapper = objectMapper;
+            this.reader = reader;
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<PageEvent<T>> feed(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            try {
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<PageEvent<T>> finish() throws IOException {
+            feeder.endOfInput();
+            List<PageEvent<T>> events = drain();
+            if (!infoEmitted) {
+                infoEmitted = true;
+                events.add(PageEvent.info(info));
+            }
+            return events;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+
+        private List<PageEvent<T>> drain() throws IOException {
+            List<PageEvent<T>> events = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (element != null) {
+                    element.copyCurrentEvent(parser);
+                    elementDepth += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+                    if (elementDepth == 0) {
+                        T item = reader.readValue(element.asParser(objectMapper));
+                        element = null;
+                        events.add(PageEvent.item(item));
+                    }
+                    continue;
+                }
+                if (inData && depth == 2 && token == JsonToken.START_OBJECT) {
+                    element = new TokenBuffer(parser);
+                    element.copyCurrentEvent(parser);
+                    elementDepth = 1;
+                    continue;
+                }
+                if (token.isStructStart()) {
+                    if (depth == 1 && token == JsonToken.START_ARRAY && "data".equals(field)) {
+                        inData = true;
+                        if (!infoEmitted && complete()) {
+                            infoEmitted = true;
+                            events.add(PageEvent.info(info));
+                        }
+                    }
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                    if (depth == 1) {
+                        inData = false;
+                    }
+                } else if (depth == 1 && token == JsonToken.FIELD_NAME) {
+                    field = parser.getCurrentName();
+                } else if (depth == 1 && token == JsonToken.VALUE_NUMBER_INT) {
+                    meta(field, parser.getIntValue());
+                }
+            }
+            return events;
+        }
+
+        private boolean complete() {
+            return info.getPage() != null && info.getPer_page() != null
+                    && info.getTotal() != null && info.getTotal_pages() != null;
+        }
+
+        private void meta(String name, int value) {
+            switch (name) {
+                case "page" -> info.setPage(value);
+                case "per_page" -> info.setPer_page(value);
+                case "total" -> info.setTotal(value);
+                case "total_pages" -> info.setTotal_pages(value);
+                default -> {
+                }
+            }
+        }
+    }
+}
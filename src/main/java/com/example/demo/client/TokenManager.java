@@ -0,0 +1,163 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.RegistrationRequest;
+import com.example.demo.dto.RegistrationResponse;
+import com.example.demo.entity.AuthSettings;
+import com.example.demo.exception.ReqresFailure;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches reqres tokens per credential. Concurrent callers that miss on the same credential share
+ * one login (or registration) request; a read within {@code refreshAhead} of expiry returns the
+ * current token and starts a background refresh, so callers only wait on the very first login
+ * and after a token was rejected with {@link #invalidate}.
+ * <p>
+ * The client is injected lazily because the login itself goes through the shared WebClient,
+ * whose filter chain includes the {@code BearerTokenFilter} that depends on this manager.
+ */
+@Slf4j
+@Component
+public class TokenManager {
+
+    private final ReqresClient client;
+
+    private final AuthSettings settings;
+
+    private final Map<Credential, Slot> slots = new ConcurrentHashMap<>();
+
+    public TokenManager(@Lazy ReqresClient client, AuthSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    /**
+     * Token for the configured {@code reqres.auth} credential.
+     */
+    public Mono<String> token() {
+        return token(RegistrationRequest.builder().email(settings.getEmail()).password(settings.getPassword()).build());
+    }
+
+    public Mono<String> token(RegistrationRequest credentials) {
+        return Mono.defer(() -> {
+            Slot slot = slots.computeIfAbsent(Credential.of(credentials), key -> new Slot(credentials));
+            Token current = slot.token;
+            long now = System.nanoTime();
+            if (current != null && now - current.expiresAt < 0) {
+                if (now - current.refreshAt >= 0) {
+                    slot.load().subscribe(token -> { }, error -> log.warn("background token refresh failed for {}",
+                            credentials.getEmail(), error));
+                }
+                return Mono.just(current.value);
+            }
+            return slot.load().map(token -> token.value);
+        });
+    }
+
+    /**
+     * Drops the cached token for {@code credentials} if it is still {@code token}, e.g. after the
+     * server answered 401 for it.
+     */
+    public void invalidate(RegistrationRequest credentials, String token) {
+        Slot slot = slots.get(Credential.of(credentials));
+        Token current = slot == null ? null : slot.token;
+        if (current != null && current.value.equals(token)) {
+            slot.token = null;
+        }
+    }
+
+    public void invalidate(String token) {
+        invalidate(RegistrationRequest.builder().email(settings.getEmail()).password(settings.getPassword()).build(), token);
+    }
+
+    private Mono<RegistrationResponse> authenticate(RegistrationRequest credentials) {
+        return settings.isRegister() ? client.register(credentials) : client.login(credentials);
+    }
+
+    @Value
+    private static class Credential {
+        String email;
+        String password;
+
+        static Credential of(RegistrationRequest request) {
+            String email = request.getEmail() != null ? request.getEmail() : request.getUsername();
+            return new Credential(email == null ? null : email.toLowerCase(Locale.ROOT), request.getPassword());
+        }
+    }
+
+    private static final class Token {
+
+        private final String value;
+
+        private final long refreshAt;
+
+        private final long expiresAt;
+
+        Token(String value, long issuedAt, AuthSettings settings) {
+            this.value = value;
+            this.expiresAt = issuedAt + settings.getTokenTtl().toNanos();
+            this.refreshAt = expiresAt - settings.getRefreshAhead().toNanos();
+        }
+    }
+
+    private final class Slot {
+
+        private final RegistrationRequest credentials;
+
+        private final AtomicReference<Mono<Token>> inFlight = new AtomicReference<>();
+
+        private volatile Token token;
+
+        Slot(RegistrationRequest credentials) {
+            this.credentials = credentials;
+        }
+
+        /**
+         * Joins the login already in flight for this credential or starts one.
+         */
+        Mono<Token> load() {
+            while (true) {
+                Mono<Token> pending = inFlight.get();
+                if (pending != null) {
+                    return pending;
+                }
+                Mono<Token> login = login();
+                if (inFlight.compareAndSet(null, login)) {
+                    return login;
+                }
+            }
+        }
+
+        private Mono<Token> login() {
+            AtomicReference<Mono<Token>> self = new AtomicReference<>();
+            Mono<Token> login = Mono.defer(() -> {
+                        long issuedAt = System.nanoTime();
+                        return authenticate(credentials).map(response -> {
+                            if (response.getToken() == null) {
+                                throw new ReqresFailure(HttpStatus.UNAUTHORIZED, "No token for " + credentials.getEmail());
+                            }
+                            return new Token(response.getToken(), issuedAt, settings);
+                        });
+                    })
+                    // leave the slot before callers see the outcome, so an immediate invalidate() starts a new login
+                    .doOnNext(fresh -> {
+                        token = fresh;
+                        inFlight.compareAndSet(self.get(), null);
+                    })
+                    .doOnError(error -> inFlight.compareAndSet(self.get(), null))
+                    .doFinally(signal -> inFlight.compareAndSet(self.get(), null))
+                    .cache();
+            self.set(login);
+            return login;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.UpdateUserRequestDto;
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class UserUpdate {
+    long id;
+    UpdateUserRequestDto request;
+}
@@ -0,0 +1,20 @@
+package com.example.demo.client;
+
+import lombok.Value;
+
+/**
+ * HTTP cache validators captured from a response, replayed as {@code If-None-Match} and
+ * {@code If-Modified-Since} on the next request for the same resource.
+ */
+@Value
+public class Validators {
+
+    public static final Validators NONE = new Validators(null, null);
+
+    String etag;
+    String lastModified;
+
+    public boolean isEmpty() {
+        return etag == null && lastModified == null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.TokenManager;
+import com.example.demo.entity.AuthSettings;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adds {@code Authorization: Bearer <token>} from the {@link TokenManager} when
+ * {@code reqres.auth.enabled} is set. Login and registration calls, and requests that already
+ * carry credentials, pass through untouched. A {@code 401} drops the cached token and the request
+ * is sent once more with a fresh one.
+ */
+@Component
+@Order(FilterOrder.AUTHENTICATION)
+public class BearerTokenFilter implements ExchangeFilterFunction {
+
+    private final TokenManager tokens;
+
+    private final boolean enabled;
+
+    public BearerTokenFilter(TokenManager tokens, AuthSettings settings) {
+        this.tokens = tokens;
+        this.enabled = settings.isEnabled();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled || request.headers().containsKey(HttpHeaders.AUTHORIZATION) || isAuthentication(request)) {
+            return next.exchange(request);
+        }
+        return tokens.token().flatMap(token -> next.exchange(authorize(request, token))
+                .flatMap(response -> {
+                    if (response.statusCode() != HttpStatus.UNAUTHORIZED) {
+                        return Mono.just(response);
+                    }
+                    tokens.invalidate(token);
+                    return response.releaseBody()
+                            .then(tokens.token())
+                            .flatMap(fresh -> next.exchange(authorize(request, fresh)));
+                }));
+    }
+
+    private static boolean isAuthentication(ClientRequest request) {
+        return request.attribute(ReqresClient.ENDPOINT_ATTRIBUTE)
+                .map(endpoint -> endpoint == Endpoint.LOGIN || endpoint == Endpoint.REGISTRATION)
+                .orElse(false);
+    }
+
+    private static ClientRequest authorize(ClientRequest request, String token) {
+        return ClientRequest.from(request)
+                .headers(headers -> headers.setBearerAuth(token))
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.capture.CaptureLog;
+import com.example.demo.capture.CaptureRecord;
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.entity.CaptureSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * With {@code reqres.capture.enabled}, appends every physical exchange to a {@link CaptureLog}:
+ * method, URI and the template it came from, endpoint, headers, bodies (up to {@code maxBodySize}),
+ * status and timings. The record is queued once the response body has been read, released or
+ * cancelled, or when the exchange fails; a response whose body is never subscribed to is not
+ * recorded ({@code retrieve()} and the {@code bodyTo*} methods always consume or release it).
+ * Credentials ({@code Authorization}, {@code Cookie}) are not recorded, and requests carrying
+ * {@link #SKIP_ATTRIBUTE} (replays) are not captured again.
+ */
+@Slf4j
+@Component
+@Order(FilterOrder.CAPTURE)
+public class CaptureFilter implements ExchangeFilterFunction, AutoCloseable {
+
+    public static final String SKIP_ATTRIBUTE = CaptureFilter.class.getName() + ".skip";
+
+    /**
+     * Set by {@code WebClient} when the URI was given as a template with variables.
+     */
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final CaptureLog capture;
+
+    private final int maxBodySize;
+
+    public CaptureFilter(CaptureSettings settings) {
+        this.maxBodySize = (int) Math.min(Integer.MAX_VALUE, settings.getMaxBodySize().toBytes());
+        this.capture = settings.isEnabled() ? open(Path.of(settings.getFile()), settings) : null;
+    }
+
+    private static CaptureLog open(Path path, CaptureSettings settings) {
+        try {
+            CaptureLog capture = CaptureLog.open(path, settings);
+            log.info("capturing reqres traffic to {}", path.toAbsolutePath());
+            return capture;
+        } catch (IOException | RuntimeException e) {
+            log.warn("could not open capture file {}, traffic will not be recorded", path, e);
+            return null;
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (capture == null || request.attribute(SKIP_ATTRIBUTE).isPresent()) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            Exchange exchange = new Exchange(request);
+            ClientRequest recorded = ClientRequest.from(request)
+                    .body((message, context) -> request.body().insert(new ClientHttpRequestDecorator(message) {
+                        @Override
+                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                            return super.writeWith(Flux.from(body).doOnNext(exchange.requestBody::append));
+                        }
+                    }, context))
+                    .build();
+            return next.exchange(recorded)
+                    .doOnNext(exchange::headers)
+                    .doOnError(exchange::failed)
+                    .map(response -> response.mutate()
+                            // recorded before completion reaches the caller, not after as with doFinally
+                            .body(body -> body.doOnNext(exchange.responseBody::append)
+                                    .doOnComplete(exchange::complete)
+                                    .doOnError(exchange::failed)
+                                    .doOnCancel(exchange::complete))
+                            .build());
+        });
+    }
+
+    @Override
+    public void close() {
+        if (capture != null) {
+            capture.close();
+            log.info("captured {} exchanges to {} ({} dropped)", capture.written(), capture.path(), capture.dropped());
+        }
+    }
+
+    private final class Exchange {
+
+        private final ClientRequest request;
+
+        private final long startMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+
+        private final long startNanos = System.nanoTime();
+
+        private final BodyCopy requestBody = new BodyCopy(maxBodySize);
+
+        private final BodyCopy responseBody = new BodyCopy(maxBodySize);
+
+        // releaseBody() after a decoded error re-subscribes the body; record the first read only
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private long headersNanos = -1;
+
+        private ClientResponse response;
+
+        Exchange(ClientRequest request) {
+            this.request = request;
+        }
+
+        void headers(ClientResponse response) {
+            this.headersNanos = System.nanoTime() - startNanos;
+            this.response = response;
+        }
+
+        void failed(Throwable error) {
+            record(error);
+        }
+
+        void complete() {
+            record(null);
+        }
+
+        private void record(Throwable error) {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            HttpHeaders requestHeaders = new HttpHeaders();
+            request.headers().forEach((name, values) -> {
+                if (!HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) && !HttpHeaders.COOKIE.equalsIgnoreCase(name)) {
+                    requestHeaders.put(name, values);
+                }
+            });
+            CaptureRecord.CaptureRecordBuilder record = CaptureRecord.builder()
+                    .startMicros(startMicros)
+                    .headersNanos(headersNanos)
+                    .durationNanos(System.nanoTime() - startNanos)
+                    .method(request.method().name())
+                    .endpoint(request.attribute(ReqresClient.ENDPOINT_ATTRIBUTE).map(value -> ((Endpoint) value).name()).orElse(null))
+                    .uri(request.url().toString())
+                    .uriTemplate(request.attribute(URI_TEMPLATE_ATTRIBUTE).map(Object::toString).orElse(null))
+                    .requestHeaders(requestHeaders)
+                    .requestBody(requestBody.bytes())
+                    .requestTruncated(requestBody.truncated)
+                    .responseBody(responseBody.bytes())
+                    .responseTruncated(responseBody.truncated)
+                    .error(error == null ? null : error.getClass().getSimpleName());
+            if (response != null) {
+                record.status(response.rawStatusCode()).responseHeaders(response.headers().asHttpHeaders());
+            }
+            capture.append(record.build());
+        }
+    }
+
+    /**
+     * Copy of a body as it streams past, cut off at a size limit.
+     */
+    private static final class BodyCopy {
+
+        private final int limit;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private boolean truncated;
+
+        BodyCopy(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized void append(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            int room = limit - bytes.size();
+            if (length > room) {
+                truncated = true;
+                length = Math.max(room, 0);
+            }
+            // a view: the buffer's read position is untouched for whoever consumes it next
+            byte[] copy = new byte[length];
+            buffer.asByteBuffer().get(copy);
+            bytes.write(copy, 0, length);
+        }
+
+        synchronized byte[] bytes() {
+            return bytes.toByteArray();
+        }
+    }
+}
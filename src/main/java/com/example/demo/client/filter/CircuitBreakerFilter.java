@@ -0,0 +1,148 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.entity.ResilienceSettings;
+import com.example.demo.exception.ReqresFailure;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One circuit breaker per endpoint. After a window of {@code breakerWindow} calls whose failure
+ * rate (5xx, timeouts, connection errors) reaches the threshold, the circuit opens and calls fail
+ * fast with {@code 503} for {@code breakerOpenFor}; the first call after that is let through as a
+ * probe and its outcome closes or re-opens the circuit. Only the probe decides: outcomes of calls
+ * that were already in flight when the circuit opened are ignored.
+ */
+@Component
+@Order(FilterOrder.CIRCUIT_BREAKER)
+public class CircuitBreakerFilter implements ExchangeFilterFunction {
+
+    private final ResilienceSettings settings;
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public CircuitBreakerFilter(ResilienceSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = request.attribute(ReqresClient.ENDPOINT_ATTRIBUTE)
+                .map(value -> ((Endpoint) value).getTemplate())
+                .orElse(request.url().getHost());
+        Circuit circuit = circuits.computeIfAbsent(endpoint, key -> new Circuit());
+        return Mono.defer(() -> {
+            Permit permit = circuit.tryAcquire();
+            if (permit == null) {
+                return Mono.error(new ReqresFailure(HttpStatus.SERVICE_UNAVAILABLE, endpoint, 0, Duration.ZERO,
+                        "Circuit open for " + endpoint, null));
+            }
+            return next.exchange(request)
+                    .doOnNext(response -> circuit.record(permit, !response.statusCode().is5xxServerError()))
+                    .doOnError(error -> circuit.record(permit, !countsAsFailure(error)));
+        });
+    }
+
+    public boolean isOpen(String endpoint) {
+        Circuit circuit = circuits.get(endpoint);
+        return circuit != null && circuit.openUntil.get() != 0;
+    }
+
+    private static boolean countsAsFailure(Throwable error) {
+        if (error instanceof ReqresFailure failure) {
+            return failure.getStatus() == null || failure.getStatus().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || Errors.isTimeout(error);
+    }
+
+    private final class Circuit {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        /**
+         * 0 while closed, otherwise the nanoTime until which calls are rejected.
+         */
+        private final AtomicLong openUntil = new AtomicLong();
+
+        /**
+         * Incremented whenever the circuit opens, so late outcomes of older calls can be told apart.
+         */
+        private final AtomicLong generation = new AtomicLong();
+
+        /**
+         * A permit for one call, or {@code null} if the circuit is open.
+         */
+        Permit tryAcquire() {
+            long until = openUntil.get();
+            long current = generation.get();
+            if (until == 0) {
+                return new Permit(current, false);
+            }
+            long now = System.nanoTime();
+            // half-open: exactly one caller wins the CAS and probes, the rest keep failing fast
+            boolean probe = now - until >= 0 && openUntil.compareAndSet(until, now + settings.getBreakerOpenFor().toNanos());
+            return probe ? new Permit(current, true) : null;
+        }
+
+        void record(Permit permit, boolean success) {
+            if (permit.probe) {
+                synchronized (this) {
+                    if (generation.get() == permit.generation && openUntil.get() != 0) {
+                        if (success) {
+                            calls.set(0);
+                            failures.set(0);
+                            openUntil.set(0);
+                        } else {
+                            openUntil.set(System.nanoTime() + settings.getBreakerOpenFor().toNanos());
+                        }
+                    }
+                }
+                return;
+            }
+            if (permit.generation != generation.get() || openUntil.get() != 0) {
+                return;
+            }
+            int failed = success ? failures.get() : failures.incrementAndGet();
+            int total = calls.incrementAndGet();
+            if (total >= settings.getBreakerWindow()) {
+                synchronized (this) {
+                    if (permit.generation == generation.get() && openUntil.get() == 0
+                            && (double) failed / total >= settings.getBreakerFailureRate()) {
+                        generation.incrementAndGet();
+                        openUntil.set(System.nanoTime() + settings.getBreakerOpenFor().toNanos());
+                    }
+                }
+                calls.set(0);
+                failures.set(0);
+            }
+        }
+    }
+
+    private static final class Permit {
+
+        private final long generation;
+
+        private final boolean probe;
+
+        Permit(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.client.filter;
+
+import java.util.concurrent.TimeoutException;
+
+final class Errors {
+
+    private Errors() {
+    }
+
+    static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
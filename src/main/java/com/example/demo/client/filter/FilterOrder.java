@@ -0,0 +1,31 @@
+package com.example.demo.client.filter;
+
+/**
+ * Position of each exchange filter on the shared WebClient, outermost first. Filters that decide
+ * whether and how often a logical call goes out (circuit breaker, retry, hedging) wrap those that
+ * act on each physical attempt (throttling, metrics). Authentication sits outside throttling so a
+ * login issued on behalf of a waiting call does not compete with it for a concurrency permit.
+ * Load balancing picks the upstream for each attempt, so a retry can land on another mirror;
+ * capture is innermost so it records each attempt as it goes on the wire.
+ */
+public final class FilterOrder {
+
+    public static final int CIRCUIT_BREAKER = 100;
+
+    public static final int RETRY = 200;
+
+    public static final int HEDGING = 300;
+
+    public static final int AUTHENTICATION = 350;
+
+    public static final int THROTTLING = 400;
+
+    public static final int LOAD_BALANCING = 450;
+
+    public static final int METRICS = 500;
+
+    public static final int CAPTURE = 600;
+
+    private FilterOrder() {
+    }
+}
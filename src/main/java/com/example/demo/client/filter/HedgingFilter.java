@@ -0,0 +1,109 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.entity.ResilienceSettings;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedged GETs: if the first attempt has not answered within the observed latency percentile, a
+ * second identical request is sent and whichever responds first wins. The loser is cancelled,
+ * or has its body released if it answered too late.
+ */
+@Component
+@Order(FilterOrder.HEDGING)
+public class HedgingFilter implements ExchangeFilterFunction {
+
+    private final boolean enabled;
+
+    private final long minDelayNanos;
+
+    private final int minSamples;
+
+    private final LatencyTracker latencies;
+
+    public HedgingFilter(ResilienceSettings settings) {
+        this.enabled = settings.isHedging();
+        this.minDelayNanos = settings.getMinHedgeDelay().toNanos();
+        this.minSamples = settings.getHedgeMinSamples();
+        this.latencies = new LatencyTracker(1024, settings.getHedgePercentile());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled || request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+        Mono<ClientResponse> attempt = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request).doOnNext(response -> latencies.record(System.nanoTime() - start));
+        });
+        if (latencies.count() < minSamples) {
+            return attempt;
+        }
+        Duration delay = Duration.ofNanos(Math.max(minDelayNanos, latencies.percentileNanos()));
+        return race(attempt, Mono.delay(delay).then(Mono.defer(() -> {
+            ReqresClient.countAttempt(request);
+            return attempt;
+        })));
+    }
+
+    static Mono<ClientResponse> race(Mono<ClientResponse> primary, Mono<ClientResponse> hedge) {
+        return Mono.<ClientResponse>create(sink -> {
+            AtomicBoolean won = new AtomicBoolean();
+            AtomicBoolean cancelled = new AtomicBoolean();
+            AtomicInteger failed = new AtomicInteger();
+            Disposable[] attempts = new Disposable[2];
+            List<Mono<ClientResponse>> sources = List.of(primary, hedge);
+            for (int i = 0; i < 2; i++) {
+                int other = 1 - i;
+                attempts[i] = sources.get(i).subscribe(
+                        response -> {
+                            if (won.compareAndSet(false, true)) {
+                                if (attempts[other] != null) {
+                                    attempts[other].dispose();
+                                }
+                                if (cancelled.get()) {
+                                    release(response);
+                                } else {
+                                    sink.success(response);
+                                }
+                            } else {
+                                release(response);
+                            }
+                        },
+                        error -> {
+                            if (failed.incrementAndGet() == 2 && won.compareAndSet(false, true)) {
+                                sink.error(error);
+                            }
+                        });
+            }
+            if (won.get()) {
+                attempts[1].dispose();
+            }
+            sink.onCancel(() -> {
+                cancelled.set(true);
+                attempts[0].dispose();
+                attempts[1].dispose();
+            });
+        })
+                // a winner emitted just as the caller cancelled is discarded by the sink
+                .doOnDiscard(ClientResponse.class, HedgingFilter::release);
+    }
+
+    private static void release(ClientResponse response) {
+        response.releaseBody().subscribe();
+    }
+}
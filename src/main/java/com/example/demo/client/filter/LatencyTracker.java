@@ -0,0 +1,55 @@
+package com.example.demo.client.filter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding sample of recent latencies. Recording is a single array store; the percentile is
+ * recomputed from a copy of the window at most once every {@code window / 8} samples.
+ */
+final class LatencyTracker {
+
+    private final AtomicLongArray samples;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final double percentile;
+
+    private volatile long cached;
+
+    private volatile long cachedAt = -1;
+
+    LatencyTracker(int window, double percentile) {
+        this.samples = new AtomicLongArray(window);
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        long index = count.getAndIncrement();
+        samples.lazySet((int) (index % samples.length()), nanos);
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long percentileNanos() {
+        long seen = count.get();
+        if (cachedAt >= 0 && seen - cachedAt < Math.max(1, samples.length() / 8)) {
+            return cached;
+        }
+        int size = (int) Math.min(seen, samples.length());
+        if (size == 0) {
+            return 0;
+        }
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        cached = copy[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+        cachedAt = seen;
+        return cached;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.entity.BalancerSettings;
+import com.example.demo.entity.Url;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads calls to each origin of the {@code reqres.*} endpoints over its mirrors
+ * ({@code reqres.baseUrls} for the origin of {@code usersApi}, {@code reqres.balancer.mirrors} for
+ * any other); startup fails if some endpoint's origin has none while others do. Each attempt picks
+ * two of the origin's upstreams at random and goes to the cheaper one, cost being the latency average times the calls already in
+ * flight there (see {@link Upstream}). An upstream with {@code failuresToEject} connection errors
+ * or 5xx in a row is left out for {@code ejectFor}, doubling with each repeated ejection, but
+ * never more than {@code maxEjectedPercent} of them at once; if every upstream is ejected, all are
+ * used again. A call that gets no response fails over to an upstream it has not tried yet when it
+ * could not connect at all, or when it is idempotent. 5xx responses are passed on for
+ * {@link RetryFilter} to retry, which picks an upstream afresh.
+ */
+@Slf4j
+@Component
+@Order(FilterOrder.LOAD_BALANCING)
+public class LoadBalancingFilter implements ExchangeFilterFunction {
+
+    private static final Set<HttpMethod> IDEMPOTENT = EnumSet.of(HttpMethod.GET, HttpMethod.PUT, HttpMethod.DELETE,
+            HttpMethod.HEAD);
+
+    /**
+     * Upstreams by the origin whose calls they take.
+     */
+    private final Map<String, List<Upstream>> pools = new HashMap<>();
+
+    private final BalancerSettings settings;
+
+    public LoadBalancingFilter(Url reqresProperties, BalancerSettings settings) {
+        this.settings = settings;
+        Map<String, List<String>> mirrors = new LinkedHashMap<>();
+        settings.getMirrors().forEach((origin, baseUrls) -> mirrors.put(origin(origin), baseUrls));
+        if (reqresProperties.getUsersApi() != null) {
+            mirrors.putIfAbsent(origin(reqresProperties.getUsersApi()), reqresProperties.getBaseUrls());
+        }
+        mirrors.forEach((origin, baseUrls) -> {
+            List<Upstream> pool = new ArrayList<>();
+            for (String baseUrl : baseUrls) {
+                if (baseUrl != null && !baseUrl.isBlank()) {
+                    pool.add(new Upstream(URI.create(baseUrl.trim()), settings));
+                }
+            }
+            if (!pool.isEmpty()) {
+                pools.put(origin, pool);
+            }
+        });
+        if (!pools.isEmpty()) {
+            endpoints(reqresProperties).forEach((name, url) -> {
+                String origin = url == null || url.isBlank() ? null : origin(url);
+                if (origin != null && !pools.containsKey(origin)) {
+                    throw new IllegalStateException("reqres." + name + " is on " + origin
+                            + ", which has no mirrors; set reqres.balancer.mirrors[" + origin + "]");
+                }
+            });
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        List<Upstream> pool = pools.isEmpty() ? null : pools.get(origin(request.url()));
+        if (pool == null) {
+            return next.exchange(request);
+        }
+        return attempt(request, next, pool, new ArrayList<>(pool.size()));
+    }
+
+    public List<UpstreamStats> upstreams() {
+        long now = System.nanoTime();
+        List<UpstreamStats> stats = new ArrayList<>();
+        for (List<Upstream> pool : pools.values()) {
+            for (Upstream upstream : pool) {
+                stats.add(upstream.stats(now));
+            }
+        }
+        return stats;
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, List<Upstream> pool,
+                                         List<Upstream> tried) {
+        return Mono.defer(() -> {
+            Upstream upstream = choose(pool, tried);
+            tried.add(upstream);
+            Upstream.Call call = upstream.begin();
+            ClientRequest routed = ClientRequest.from(request).url(upstream.rewrite(request.url())).build();
+            return next.exchange(routed)
+                    .doOnNext(response -> {
+                        if (call.finish()) {
+                            if (response.statusCode().is5xxServerError()) {
+                                failed(pool, upstream, call.elapsed());
+                            } else {
+                                upstream.succeeded(call.elapsed(), System.nanoTime());
+                            }
+                        }
+                    })
+                    .doOnCancel(call::finish)
+                    .onErrorResume(error -> {
+                        if (call.finish()) {
+                            failed(pool, upstream, call.elapsed());
+                        }
+                        if (tried.size() > settings.getFailoverAttempts() || tried.size() >= pool.size()
+                                || !failover(request, error)) {
+                            return Mono.error(error);
+                        }
+                        log.debug("failing over from {} after {}", upstream.base(), error.toString());
+                        return attempt(request, next, pool, tried);
+                    });
+        });
+    }
+
+    private Upstream choose(List<Upstream> pool, List<Upstream> tried) {
+        long now = System.nanoTime();
+        List<Upstream> candidates = new ArrayList<>(pool.size());
+        for (Upstream upstream : pool) {
+            if (!tried.contains(upstream) && !upstream.ejected(now)) {
+                candidates.add(upstream);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // everything left is ejected: better a doubtful upstream than none
+            for (Upstream upstream : pool) {
+                if (!tried.contains(upstream)) {
+                    candidates.add(upstream);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates.addAll(pool);
+        }
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Upstream a = candidates.get(first);
+        Upstream b = candidates.get(second);
+        return a.cost(now) <= b.cost(now) ? a : b;
+    }
+
+    private void failed(List<Upstream> pool, Upstream upstream, long latencyNanos) {
+        long now = System.nanoTime();
+        if (!upstream.failed(latencyNanos, now, settings.getFailuresToEject())) {
+            return;
+        }
+        synchronized (pool) {
+            long ejected = pool.stream().filter(candidate -> candidate.ejected(now)).count();
+            if (!upstream.ejected(now) && (ejected + 1) * 100 <= (long) settings.getMaxEjectedPercent() * pool.size()) {
+                Duration period = upstream.eject(now, settings.getEjectFor(), settings.getMaxEjectFor());
+                log.warn("ejecting upstream {} for {}", upstream.base(), period);
+            }
+        }
+    }
+
+    private static boolean failover(ClientRequest request, Throwable error) {
+        if (!(error instanceof WebClientRequestException)) {
+            return false;
+        }
+        if (IDEMPOTENT.contains(request.method())) {
+            return true;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> endpoints(Url urls) {
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        endpoints.put("usersApi", urls.getUsersApi());
+        endpoints.put("usersApiWithOffset", urls.getUsersApiWithOffset());
+        endpoints.put("usersApiWithOffsetAndLimit", urls.getUsersApiWithOffsetAndLimit());
+        endpoints.put("resourcesApi", urls.getResourcesApi());
+        endpoints.put("resourcesApiWithOffsetAndLimit", urls.getResourcesApiWithOffsetAndLimit());
+        endpoints.put("loginApi", urls.getLoginApi());
+        endpoints.put("registrationApi", urls.getRegistrationApi());
+        return endpoints;
+    }
+
+    /**
+     * Origin of a configured URL, which may still hold {@code {template}} variables.
+     */
+    private static String origin(String url) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url.trim()).build();
+        return origin(uri.getScheme(), uri.getHost(), uri.getPort());
+    }
+
+    private static String origin(URI uri) {
+        return origin(uri.getScheme(), uri.getHost(), uri.getPort());
+    }
+
+    private static String origin(String scheme, String host, int port) {
+        int effective = port >= 0 ? port : "https".equalsIgnoreCase(scheme) ? 443 : 80;
+        return (scheme + "://" + host + ":" + effective).toLowerCase(Locale.ROOT);
+    }
+
+    @Value
+    public static class UpstreamStats {
+        URI base;
+        int inFlight;
+        Duration latency;
+        long requests;
+        long failures;
+        boolean ejected;
+    }
+}
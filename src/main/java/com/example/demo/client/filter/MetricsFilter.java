@@ -0,0 +1,124 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.entity.HttpSettings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every physical exchange: {@code reqres.client.requests} (time to response headers, with
+ * a percentile histogram), {@code reqres.client.decode} (time spent reading and decoding the body),
+ * {@code reqres.client.bytes.received} and {@code reqres.client.errors}, all tagged with the
+ * endpoint template and method. Meters are looked up once per tag combination and cached; nothing
+ * is recorded when {@code reqres.http.metrics} is off.
+ */
+@Component
+@Order(FilterOrder.METRICS)
+public class MetricsFilter implements ExchangeFilterFunction {
+
+    private final MeterRegistry registry;
+
+    private final boolean enabled;
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+
+    public MetricsFilter(MeterRegistry registry, HttpSettings settings) {
+        this.registry = registry;
+        this.enabled = settings.isMetrics();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled) {
+            return next.exchange(request);
+        }
+        String endpoint = request.attribute(ReqresClient.ENDPOINT_ATTRIBUTE)
+                .map(value -> ((Endpoint) value).getTemplate())
+                .orElse("none");
+        String method = request.method().name();
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnError(error -> {
+                        meters(endpoint, method, "IO_ERROR").requests.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        errors(endpoint, method, error.getClass().getSimpleName()).increment();
+                    })
+                    .map(response -> {
+                        Meters recorded = meters(endpoint, method, String.valueOf(response.rawStatusCode()));
+                        recorded.requests.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        return instrumentBody(response, recorded);
+                    });
+        });
+    }
+
+    private Meters meters(String endpoint, String method, String status) {
+        return meters.computeIfAbsent(endpoint + ' ' + method + ' ' + status,
+                key -> new Meters(Tags.of("endpoint", endpoint, "method", method, "status", status)));
+    }
+
+    private Counter errors(String endpoint, String method, String exception) {
+        return errors.computeIfAbsent(endpoint + ' ' + method + ' ' + exception,
+                key -> registry.counter("reqres.client.errors",
+                        Tags.of("endpoint", endpoint, "method", method, "exception", exception)));
+    }
+
+    private ClientResponse instrumentBody(ClientResponse response, Meters meters) {
+        AtomicBoolean recorded = new AtomicBoolean();
+        return response.mutate()
+                .body(body -> {
+                    AtomicLong start = new AtomicLong();
+                    AtomicLong bytes = new AtomicLong();
+                    return body.doOnSubscribe(subscription -> start.set(System.nanoTime()))
+                            .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                            .doFinally(signal -> {
+                                // releaseBody() after a decoded error re-subscribes; count the first read only
+                                if (recorded.compareAndSet(false, true)) {
+                                    meters.decode.record(System.nanoTime() - start.get(), TimeUnit.NANOSECONDS);
+                                    meters.received.record(bytes.get());
+                                }
+                            });
+                })
+                .build();
+    }
+
+    private final class Meters {
+
+        private final Timer requests;
+
+        private final Timer decode;
+
+        private final DistributionSummary received;
+
+        Meters(Tags tags) {
+            this.requests = Timer.builder("reqres.client.requests")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+            this.decode = Timer.builder("reqres.client.decode").tags(tags).register(registry);
+            this.received = DistributionSummary.builder("reqres.client.bytes.received")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.entity.ResilienceSettings;
+import com.example.demo.exception.ReqresFailure;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries idempotent requests (GET, PUT, DELETE, HEAD) on 5xx responses, timeouts and connection
+ * errors with full-jitter exponential backoff: attempt {@code n} sleeps a uniformly random time
+ * in {@code [0, min(maxBackoff, backoff * 2^n)]}.
+ */
+@Component
+@Order(FilterOrder.RETRY)
+public class RetryFilter implements ExchangeFilterFunction {
+
+    private static final Set<HttpMethod> IDEMPOTENT = EnumSet.of(HttpMethod.GET, HttpMethod.PUT, HttpMethod.DELETE,
+            HttpMethod.HEAD);
+
+    private final int maxRetries;
+
+    private final long backoffMillis;
+
+    private final long maxBackoffMillis;
+
+    public RetryFilter(ResilienceSettings settings) {
+        this.maxRetries = settings.getMaxRetries();
+        this.backoffMillis = settings.getRetryBackoff().toMillis();
+        this.maxBackoffMillis = settings.getMaxRetryBackoff().toMillis();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (maxRetries <= 0 || !IDEMPOTENT.contains(request.method())) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            int[] attempts = {0};
+            return Mono.defer(() -> {
+                        attempts[0]++;
+                        ReqresClient.countAttempt(request);
+                        return next.exchange(request);
+                    })
+                    .flatMap(response -> response.statusCode().is5xxServerError() && attempts[0] <= maxRetries
+                            ? failure(request, response, attempts[0], start).flatMap(Mono::error)
+                            : Mono.just(response))
+                    .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                        if (signal.totalRetries() >= maxRetries || !retryable(signal.failure())) {
+                            return Mono.error(signal.failure());
+                        }
+                        return Mono.delay(Duration.ofMillis(jitter(signal.totalRetries())));
+                    })));
+        });
+    }
+
+    private long jitter(long retry) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(retry, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean retryable(Throwable error) {
+        if (error instanceof ReqresFailure failure) {
+            return failure.getStatus() != null && failure.getStatus().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || Errors.isTimeout(error);
+    }
+
+    private static Mono<ReqresFailure> failure(ClientRequest request, ClientResponse response, int attempts, long start) {
+        String endpoint = request.attribute(ReqresClient.ENDPOINT_ATTRIBUTE)
+                .map(value -> ((Endpoint) value).getTemplate())
+                .orElse(request.url().getPath());
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> new ReqresFailure(response.statusCode(), endpoint, attempts,
+                        Duration.ofNanos(System.nanoTime() - start), body, null));
+    }
+}
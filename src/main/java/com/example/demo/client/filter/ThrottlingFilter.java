@@ -0,0 +1,91 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.limit.AdaptiveConcurrencyLimit;
+import com.example.demo.client.limit.TokenBucket;
+import com.example.demo.entity.LimitSettings;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Paces every attempt through the global and per-endpoint {@link TokenBucket}s, then holds an
+ * {@link AdaptiveConcurrencyLimit} permit until the response headers arrive. Tokens are reserved
+ * up front; a call cancelled while it waits for its token gives the token back.
+ */
+@Component
+@Order(FilterOrder.THROTTLING)
+public class ThrottlingFilter implements ExchangeFilterFunction {
+
+    private final TokenBucket global;
+
+    private final Map<Endpoint, TokenBucket> endpoints = new EnumMap<>(Endpoint.class);
+
+    private final AdaptiveConcurrencyLimit limit;
+
+    public ThrottlingFilter(LimitSettings settings) {
+        this.global = settings.getRatePerSecond() > 0 ? new TokenBucket(settings.getRatePerSecond(), settings.getBurst()) : null;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Double rate = settings.getEndpointRatePerSecond().get(endpoint.getTemplate());
+            if (rate != null && rate > 0) {
+                endpoints.put(endpoint, new TokenBucket(rate, settings.getBurst()));
+            }
+        }
+        this.limit = new AdaptiveConcurrencyLimit(settings.getInitialConcurrency(), settings.getMinConcurrency(),
+                settings.getMaxConcurrency(), settings.getBackoffRatio(), settings.getLatencyThreshold().toNanos(),
+                settings.getMaxPending());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            TokenBucket bucket = request.attribute(ReqresClient.ENDPOINT_ATTRIBUTE).map(endpoints::get).orElse(null);
+            long wait = reserve(bucket);
+            Mono<Void> paced = wait > 0
+                    ? Mono.delay(Duration.ofNanos(wait)).doOnCancel(() -> refund(bucket)).then()
+                    : Mono.empty();
+            return paced.then(limit.run(Mono.defer(() -> exchange(request, next))));
+        });
+    }
+
+    public AdaptiveConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    private long reserve(TokenBucket bucket) {
+        long wait = global == null ? 0 : global.reserve();
+        return bucket == null ? wait : Math.max(wait, bucket.reserve());
+    }
+
+    private void refund(TokenBucket bucket) {
+        if (global != null) {
+            global.refund();
+        }
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next) {
+        long start = System.nanoTime();
+        return next.exchange(request)
+                .doOnNext(response -> {
+                    if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                        limit.onDrop();
+                    } else {
+                        limit.onSuccess(System.nanoTime() - start);
+                    }
+                })
+                .doOnError(Errors::isTimeout, error -> limit.onDrop());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.entity.BalancerSettings;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load and health of one base URL behind {@link LoadBalancingFilter}: calls in flight, a
+ * peak-sensitive moving average of latency (a slower sample replaces it outright, faster ones are
+ * blended in with a weight that depends on the time since the previous sample, and it decays
+ * towards zero while idle so a once-slow upstream is tried again), and the consecutive failures
+ * that lead to ejection.
+ */
+final class Upstream {
+
+    private final URI base;
+
+    private final double decayNanos;
+
+    private final long failurePenaltyNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private double ewma;
+
+    private long stamp = System.nanoTime();
+
+    private int consecutiveFailures;
+
+    private int ejections;
+
+    private volatile long ejectedUntil;
+
+    Upstream(URI base, BalancerSettings settings) {
+        this.base = base;
+        this.decayNanos = Math.max(1, settings.getDecay().toNanos());
+        this.failurePenaltyNanos = settings.getFailurePenalty().toNanos();
+    }
+
+    URI base() {
+        return base;
+    }
+
+    URI rewrite(URI uri) {
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return URI.create(base.getScheme() + "://" + base.getRawAuthority() + uri.getRawPath() + query);
+    }
+
+    boolean ejected(long now) {
+        return now - ejectedUntil < 0;
+    }
+
+    /**
+     * Expected cost of one more call: latency times the calls it would queue behind.
+     */
+    double cost(long now) {
+        double latency;
+        synchronized (this) {
+            latency = decayed(now);
+        }
+        return (latency + 1) * (inFlight.get() + 1);
+    }
+
+    Call begin() {
+        inFlight.incrementAndGet();
+        requests.incrementAndGet();
+        return new Call();
+    }
+
+    /**
+     * Whether this failure completes a run long enough to eject; the caller decides whether an
+     * ejection is allowed and, if so, calls {@link #eject}.
+     */
+    synchronized boolean failed(long latencyNanos, long now, int failuresToEject) {
+        failures.incrementAndGet();
+        sample(Math.max(latencyNanos, failurePenaltyNanos), now);
+        return ++consecutiveFailures >= failuresToEject;
+    }
+
+    synchronized void succeeded(long latencyNanos, long now) {
+        sample(latencyNanos, now);
+        consecutiveFailures = 0;
+        ejections = 0;
+    }
+
+    synchronized Duration eject(long now, Duration ejectFor, Duration maxEjectFor) {
+        Duration period = ejectFor.multipliedBy(1L << Math.min(ejections, 20));
+        if (period.compareTo(maxEjectFor) > 0) {
+            period = maxEjectFor;
+        }
+        ejections++;
+        consecutiveFailures = 0;
+        ejectedUntil = now + period.toNanos();
+        return period;
+    }
+
+    LoadBalancingFilter.UpstreamStats stats(long now) {
+        double latency;
+        synchronized (this) {
+            latency = decayed(now);
+        }
+        return new LoadBalancingFilter.UpstreamStats(base, inFlight.get(), Duration.ofNanos((long) latency),
+                requests.get(), failures.get(), ejected(now));
+    }
+
+    private void sample(long nanos, long now) {
+        if (nanos > ewma) {
+            ewma = nanos;
+        } else {
+            double weight = Math.exp(-Math.max(0, now - stamp) / decayNanos);
+            ewma = ewma * weight + nanos * (1 - weight);
+        }
+        stamp = now;
+    }
+
+    private double decayed(long now) {
+        return ewma * Math.exp(-Math.max(0, now - stamp) / decayNanos);
+    }
+
+    /**
+     * One call in flight; whichever of its outcomes is reported first counts.
+     */
+    final class Call {
+
+        private final long start = System.nanoTime();
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        long elapsed() {
+            return System.nanoTime() - start;
+        }
+
+        boolean finish() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            inFlight.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.demo.client.limit;
+
+import com.example.demo.exception.ReqresFailure;
+import org.springframework.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit: every on-time response grows the limit by {@code 1/limit} (about one
+ * per round trip at full utilisation), every 429, timeout or slow response multiplies it by
+ * {@code backoffRatio}. Calls over the limit park in a lock-free queue until a permit frees up.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final double minLimit;
+
+    private final double maxLimit;
+
+    private final double backoffRatio;
+
+    private final long latencyThresholdNanos;
+
+    private final int maxPending;
+
+    private final AtomicLong limitBits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    long latencyThresholdNanos, int maxPending) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.maxPending = maxPending;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    /**
+     * Runs {@code call} under a permit, queueing it while the limit is reached. The permit stays
+     * with the limiter until the call ends, so a cancel that races the grant cannot lose it.
+     */
+    public <T> Mono<T> run(Mono<T> call) {
+        Mono<T> held = call.doFinally(signal -> release());
+        return Mono.defer(() -> {
+            if (tryAcquire()) {
+                return held;
+            }
+            if (pending.incrementAndGet() > maxPending) {
+                pending.decrementAndGet();
+                return Mono.error(new ReqresFailure(HttpStatus.TOO_MANY_REQUESTS, "Concurrency limit queue is full"));
+            }
+            return Mono.create(sink -> {
+                Disposable.Swap granted = Disposables.swap();
+                Waiter waiter = new Waiter(() -> granted.update(held.subscribe(sink::success, sink::error, sink::success)));
+                sink.onCancel(() -> {
+                    if (!waiter.cancel()) {
+                        granted.dispose();
+                    }
+                });
+                waiters.offer(waiter);
+                drain();
+            });
+        });
+    }
+
+    public void onSuccess(long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            onDrop();
+            return;
+        }
+        update(limit -> Math.min(maxLimit, limit + 1.0 / limit));
+    }
+
+    public void onDrop() {
+        update(limit -> Math.max(minLimit, limit * backoffRatio));
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            pending.decrementAndGet();
+            if (!waiter.state.compareAndSet(WaiterState.WAITING, WaiterState.GRANTED)) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            waiter.grant.run();
+        }
+    }
+
+    private void update(DoubleUnaryOperator function) {
+        while (true) {
+            long current = limitBits.get();
+            long next = Double.doubleToLongBits(function.applyAsDouble(Double.longBitsToDouble(current)));
+            if (limitBits.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private enum WaiterState {
+        WAITING, GRANTED, CANCELLED
+    }
+
+    private static final class Waiter {
+
+        /**
+         * Subscribes the call; from then on its own termination or cancellation releases the permit.
+         */
+        private final Runnable grant;
+
+        private final AtomicReference<WaiterState> state = new AtomicReference<>(WaiterState.WAITING);
+
+        private Waiter(Runnable grant) {
+            this.grant = grant;
+        }
+
+        /**
+         * Returns whether the waiter was still queued; {@link #drain()} skips it then. Otherwise the
+         * permit was already granted and the caller has to cancel the call it started.
+         */
+        private boolean cancel() {
+            return state.compareAndSet(WaiterState.WAITING, WaiterState.CANCELLED);
+        }
+    }
+}
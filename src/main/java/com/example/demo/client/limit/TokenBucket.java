@@ -0,0 +1,44 @@
+package com.example.demo.client.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm: a single CAS on the
+ * theoretical arrival time both takes a token and tells the caller how long to wait for it.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Reserves one token and returns the nanoseconds to wait before it may be used.
+     */
+    public long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return Math.max(0, next - now - burstNanos);
+            }
+        }
+    }
+
+    /**
+     * Gives back a token reserved by {@link #reserve()} that will not be used, e.g. because the
+     * caller was cancelled while waiting for it. Reservations already handed out keep their waits.
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+}
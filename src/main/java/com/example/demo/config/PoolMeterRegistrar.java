@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the active/idle/pending gauges of every per-host pool of the reqres
+ * {@link ConnectionProvider} into the application {@link MeterRegistry}.
+ */
+class PoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+    private final MeterRegistry registry;
+
+    PoolMeterRegistrar(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("pool", poolName, "remote", String.valueOf(remoteAddress));
+        gauge("reqres.pool.active", tags, metrics, ConnectionPoolMetrics::acquiredSize);
+        gauge("reqres.pool.idle", tags, metrics, ConnectionPoolMetrics::idleSize);
+        gauge("reqres.pool.total", tags, metrics, ConnectionPoolMetrics::allocatedSize);
+        gauge("reqres.pool.pending", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize);
+        gauge("reqres.pool.max", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize);
+    }
+
+    private void gauge(String name, Tags tags, ConnectionPoolMetrics metrics, ToDoubleFunction<ConnectionPoolMetrics> value) {
+        Gauge.builder(name, metrics, value).tags(tags).register(registry);
+    }
+}
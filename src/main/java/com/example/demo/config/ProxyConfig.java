@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import com.example.demo.client.ResponseCache;
+import com.example.demo.entity.ProxySettings;
+import com.example.demo.entity.Url;
+import com.example.demo.proxy.ReqresProxy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * With {@code --mode=proxy} the application serves the reqres API itself, through a
+ * {@link ReqresProxy} in front of the configured upstream.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mode", havingValue = "proxy")
+public class ProxyConfig {
+
+    @Bean
+    public ReqresProxy reqresProxy(WebClient webClient, Url reqresProperties, ResponseCache cache, ProxySettings settings) {
+        return new ReqresProxy(webClient, reqresProperties, cache, settings);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reqresProxyRoutes(ReqresProxy reqresProxy) {
+        return reqresProxy.routes();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.Url;
+import com.example.demo.stub.ReqresStubServer;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With {@code reqres.stub.enabled=true} the application talks to an in-process stub instead of
+ * reqres.in: the stub is started first and the {@link Url} bean is repointed at it before any
+ * client reads its templates.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reqres.stub", name = "enabled", havingValue = "true")
+public class StubConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReqresStubServer reqresStubServer(StubSettings settings) {
+        return ReqresStubServer.start(settings);
+    }
+
+    @Bean
+    public static BeanPostProcessor stubUrlPostProcessor(ObjectProvider<ReqresStubServer> stub) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Url url) {
+                    // configured mirrors are kept, e.g. further stub instances
+                    BeanUtils.copyProperties(stub.getObject().urls(), url, "baseUrls");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,13 +1,103 @@
 package com.example.demo.config;
 
+import com.example.demo.client.ReqresCodecs;
+import com.example.demo.entity.HttpSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.regex.Pattern;
 
 @Configuration
-public class WebClientConfig {
+public class WebClientConfig implements DisposableBean {
+
+    private static final Pattern QUERY = Pattern.compile("\\?.*$");
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/-?[0-9.]+(?=/|$)");
+
+    /**
+     * The registry this context added to the global composite, removed again when the context closes.
+     */
+    private volatile MeterRegistry globalBinding;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider reqresConnectionProvider(HttpSettings settings, MeterRegistry meterRegistry) {
+        return ConnectionProvider.builder(settings.getPoolName())
+                .metrics(settings.isMetrics(), () -> new PoolMeterRegistrar(meterRegistry))
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .evictInBackground(settings.getEvictInBackground())
+                .build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reqresLoopResources(HttpSettings settings) {
+        int threads = settings.getLoopThreads() > 0 ? settings.getLoopThreads() : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        return LoopResources.create(settings.getPoolName() + "-http", threads, true);
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.create();
+    public HttpClient reqresHttpClient(HttpSettings settings, ConnectionProvider reqresConnectionProvider,
+                                       LoopResources reqresLoopResources, MeterRegistry meterRegistry) {
+        if (settings.isMetrics() && !Metrics.globalRegistry.getRegistries().contains(meterRegistry)) {
+            // Reactor Netty records bytes sent/received and connect/TLS timings on the global registry
+            Metrics.addRegistry(meterRegistry);
+            globalBinding = meterRegistry;
+        }
+        return HttpClient.create(reqresConnectionProvider)
+                .metrics(settings.isMetrics(), WebClientConfig::uriTag)
+                .runOn(reqresLoopResources)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, settings.isKeepAlive())
+                .keepAlive(settings.isKeepAlive())
+                .responseTimeout(settings.getResponseTimeout())
+                .protocol(protocols(settings));
+    }
+
+    @Bean
+    public WebClient webClient(HttpClient reqresHttpClient, ReqresCodecs codecs,
+                               ObjectProvider<ExchangeFilterFunction> filters) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(reqresHttpClient))
+                .codecs(codecs::configure)
+                .filters(list -> filters.orderedStream().forEach(list::add))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        MeterRegistry registry = globalBinding;
+        if (registry != null) {
+            Metrics.removeRegistry(registry);
+            globalBinding = null;
+        }
+    }
+
+    private static String uriTag(String uri) {
+        return NUMERIC_SEGMENT.matcher(QUERY.matcher(uri).replaceFirst("")).replaceAll("/{id}");
+    }
+
+    private static HttpProtocol[] protocols(HttpSettings settings) {
+        if (settings.isH2c()) {
+            return new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11};
+        }
+        if (settings.isHttp2()) {
+            return new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11};
+        }
+        return new HttpProtocol[]{HttpProtocol.HTTP11};
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.example.demo.diff;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * One difference between two snapshots of a collection: a record that only exists in the newer one
+ * ({@link Kind#CREATED}), only in the older one ({@link Kind#DELETED}), or in both with different
+ * content ({@link Kind#UPDATED}, with the fields that changed).
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ChangeEvent<T> {
+
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Kind kind;
+
+    private final long id;
+
+    private final T before;
+
+    private final T after;
+
+    private final List<FieldChange> changes;
+
+    public static <T> ChangeEvent<T> created(long id, T after) {
+        return new ChangeEvent<>(Kind.CREATED, id, null, after, List.of());
+    }
+
+    public static <T> ChangeEvent<T> updated(long id, T before, T after, List<FieldChange> changes) {
+        return new ChangeEvent<>(Kind.UPDATED, id, before, after, changes);
+    }
+
+    public static <T> ChangeEvent<T> deleted(long id, T before) {
+        return new ChangeEvent<>(Kind.DELETED, id, before, null, List.of());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.diff;
+
+import lombok.Value;
+
+@Value
+public class FieldChange {
+    String field;
+    String before;
+    String after;
+}
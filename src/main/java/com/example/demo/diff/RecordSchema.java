@@ -0,0 +1,93 @@
+package com.example.demo.diff;
+
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * How {@link SnapshotDiff} reads a record type: its id, the order both inputs are sorted in, and
+ * the named fields that make up its content.
+ */
+public final class RecordSchema<T> {
+
+    public static final RecordSchema<User> USERS = new RecordSchema<User>(User::getId, Comparator.naturalOrder())
+            .field("email", User::getEmail)
+            .field("first_name", User::getFirst_name)
+            .field("last_name", User::getLast_name)
+            .field("avatar", User::getAvatar);
+
+    public static final RecordSchema<Resource> RESOURCES = new RecordSchema<Resource>(Resource::getId,
+            Comparator.comparing(Resource::getId))
+            .field("name", Resource::getName)
+            .field("year", Resource::getYear)
+            .field("color", Resource::getColor)
+            .field("pantone_value", Resource::getPantone_value);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ToLongFunction<T> id;
+
+    private final Comparator<T> order;
+
+    private final Map<String, Function<T, String>> fields = new LinkedHashMap<>();
+
+    public RecordSchema(ToLongFunction<T> id, Comparator<T> order) {
+        this.id = id;
+        this.order = order;
+    }
+
+    public RecordSchema<T> field(String name, Function<T, String> getter) {
+        fields.put(name, getter);
+        return this;
+    }
+
+    long id(T record) {
+        return id.applyAsLong(record);
+    }
+
+    Comparator<T> order() {
+        return order;
+    }
+
+    /**
+     * 64-bit FNV-1a over every field, with a marker between fields and for nulls so that moving
+     * text from one field to the next changes the hash.
+     */
+    long hash(T record) {
+        long hash = FNV_OFFSET;
+        for (Function<T, String> getter : fields.values()) {
+            String value = getter.apply(record);
+            if (value == null) {
+                hash = (hash ^ 0xFFFF) * FNV_PRIME;
+            } else {
+                for (int i = 0; i < value.length(); i++) {
+                    hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+                }
+            }
+            hash = (hash ^ 0xFFFE) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    List<FieldChange> changes(T before, T after) {
+        List<FieldChange> changes = new ArrayList<>(1);
+        fields.forEach((name, getter) -> {
+            String old = getter.apply(before);
+            String current = getter.apply(after);
+            if (!Objects.equals(old, current)) {
+                changes.add(new FieldChange(name, old, current));
+            }
+        });
+        return changes;
+    }
+}
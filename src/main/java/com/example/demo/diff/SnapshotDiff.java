@@ -0,0 +1,138 @@
+package com.example.demo.diff;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Single-pass merge-join of two snapshots of a collection, both sorted by the schema's order (for
+ * users, {@link com.example.demo.entity.User#compareTo}). Only the current record of each side is
+ * held, so memory does not grow with the size of the collection. Records with equal ids are first
+ * compared by content hash; only when the hashes differ are fields compared one by one.
+ */
+public final class SnapshotDiff<T> {
+
+    private static final int PREFETCH = 256;
+
+    private final RecordSchema<T> schema;
+
+    public SnapshotDiff(RecordSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Changes that turn {@code before} into {@code after}, in id order. Both inputs are pulled
+     * with bounded prefetch on a {@code boundedElastic} worker.
+     */
+    public Flux<ChangeEvent<T>> diff(Flux<T> before, Flux<T> after) {
+        return Flux.defer(() -> Flux.fromIterable(() -> diff(before.toIterable(PREFETCH).iterator(),
+                        after.toIterable(PREFETCH).iterator())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Iterator<ChangeEvent<T>> diff(Iterator<T> before, Iterator<T> after) {
+        return new MergeJoin(before, after);
+    }
+
+    private final class MergeJoin implements Iterator<ChangeEvent<T>> {
+
+        private final Side before;
+
+        private final Side after;
+
+        private ChangeEvent<T> next;
+
+        MergeJoin(Iterator<T> before, Iterator<T> after) {
+            this.before = new Side(before, "before");
+            this.after = new Side(after, "after");
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && (before.current != null || after.current != null)) {
+                next = step();
+            }
+            return next != null;
+        }
+
+        @Override
+        public ChangeEvent<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ChangeEvent<T> event = next;
+            next = null;
+            return event;
+        }
+
+        /**
+         * Advances past one id; {@code null} when the record is unchanged.
+         */
+        private ChangeEvent<T> step() {
+            if (after.current == null) {
+                T old = before.advance();
+                return ChangeEvent.deleted(schema.id(old), old);
+            }
+            if (before.current == null) {
+                T created = after.advance();
+                return ChangeEvent.created(schema.id(created), created);
+            }
+            int order = schema.order().compare(before.current, after.current);
+            if (order < 0) {
+                T old = before.advance();
+                return ChangeEvent.deleted(schema.id(old), old);
+            }
+            if (order > 0) {
+                T created = after.advance();
+                return ChangeEvent.created(schema.id(created), created);
+            }
+            long oldHash = before.hash;
+            long newHash = after.hash;
+            T old = before.advance();
+            T current = after.advance();
+            if (oldHash == newHash) {
+                return null;
+            }
+            List<FieldChange> changes = schema.changes(old, current);
+            // a hash difference always comes from a field, unless the schema reads fields non-deterministically
+            return changes.isEmpty() ? null : ChangeEvent.updated(schema.id(current), old, current, changes);
+        }
+    }
+
+    private final class Side {
+
+        private final Iterator<T> records;
+
+        private final String name;
+
+        private T current;
+
+        private long hash;
+
+        Side(Iterator<T> records, String name) {
+            this.records = records;
+            this.name = name;
+            load();
+        }
+
+        T advance() {
+            T record = current;
+            load();
+            if (current != null && schema.order().compare(record, current) >= 0) {
+                throw new IllegalStateException("'" + name + "' is not sorted by id: " + schema.id(current)
+                        + " follows " + schema.id(record));
+            }
+            return record;
+        }
+
+        private void load() {
+            current = records.hasNext() ? records.next() : null;
+            if (current != null) {
+                hash = schema.hash(current);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.auth")
+@Configuration("reqresAuthProperties")
+@Data
+public class AuthSettings {
+
+    /**
+     * Attach a bearer token for the configured credential to every call on the shared WebClient.
+     */
+    private boolean enabled;
+
+    private String email;
+
+    private String password;
+
+    /**
+     * Obtain tokens through {@code registrationApi} instead of {@code loginApi}.
+     */
+    private boolean register;
+
+    /**
+     * reqres does not say when a token expires, so it is treated as valid for this long.
+     */
+    private Duration tokenTtl = Duration.ofMinutes(30);
+
+    /**
+     * How long before expiry a read triggers a background refresh while still returning the
+     * current token.
+     */
+    private Duration refreshAhead = Duration.ofMinutes(5);
+}
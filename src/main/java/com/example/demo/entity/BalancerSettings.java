@@ -0,0 +1,58 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "reqres.balancer")
+@Configuration("reqresBalancerProperties")
+@Data
+public class BalancerSettings {
+
+    /**
+     * Time constant of the latency moving average: a sample this old weighs 1/e of a fresh one.
+     */
+    private Duration decay = Duration.ofSeconds(10);
+
+    /**
+     * Latency charged for a failed call, so that an upstream failing fast does not look fast.
+     */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    /**
+     * Consecutive failures (connection errors or 5xx) after which an upstream is ejected.
+     */
+    private int failuresToEject = 5;
+
+    /**
+     * First ejection period; it doubles with every ejection not followed by a success.
+     */
+    private Duration ejectFor = Duration.ofSeconds(30);
+
+    private Duration maxEjectFor = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound on the share of upstreams ejected at once.
+     */
+    private int maxEjectedPercent = 50;
+
+    /**
+     * Other upstreams tried when a call gets no response: any call that could not connect, and
+     * idempotent calls after other transport errors.
+     */
+    private int failoverAttempts = 2;
+
+    /**
+     * Mirrors per origin ({@code scheme://host[:port]}) of the {@code reqres.*} endpoints, e.g.
+     * {@code reqres.balancer.mirrors[https://auth.example]=https://a.example,https://b.example}.
+     * {@code reqres.baseUrls} is shorthand for the origin of {@code reqres.usersApi}. Once any
+     * mirrors are set, every endpoint's origin needs some.
+     */
+    private Map<String, List<String>> mirrors = new LinkedHashMap<>();
+}
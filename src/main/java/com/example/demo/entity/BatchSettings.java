@@ -0,0 +1,34 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.batch")
+@Configuration("reqresBatchProperties")
+@Data
+public class BatchSettings {
+
+    /**
+     * How long the first lookup of a batch waits for others to join it.
+     */
+    private Duration window = Duration.ofMillis(1);
+
+    /**
+     * Distinct ids that flush a batch before its window is over.
+     */
+    private int maxBatch = 64;
+
+    /**
+     * Largest page requested on behalf of a run of ids.
+     */
+    private int maxPerPage = 50;
+
+    /**
+     * Share of a page that must be wanted ids for the page to replace single GETs.
+     */
+    private double minDensity = 0.25;
+}
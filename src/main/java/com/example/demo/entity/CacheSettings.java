@@ -0,0 +1,33 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.cache")
+@Configuration("reqresCacheProperties")
+@Data
+public class CacheSettings {
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Bound on the bytes held by cached values. Values that know their size (raw bodies) weigh
+     * that many bytes, others {@code maximumWeight / maximumSize}, so that a cache of small
+     * entries still holds {@code maximumSize} of them.
+     */
+    private DataSize maximumWeight = DataSize.ofMegabytes(64);
+
+    private Duration ttl = Duration.ofMinutes(1);
+
+    private Duration notFoundTtl = Duration.ofSeconds(10);
+
+    /**
+     * How long an expired entry with an ETag or Last-Modified is kept around for revalidation.
+     */
+    private Duration revalidateFor = Duration.ofMinutes(10);
+}
@@ -0,0 +1,68 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.capture")
+@Configuration("reqresCaptureProperties")
+@Data
+public class CaptureSettings {
+
+    /**
+     * Record every exchange of the shared WebClient to {@code file}.
+     */
+    private boolean enabled = false;
+
+    private String file = "target/reqres-capture.bin";
+
+    /**
+     * Request and response bodies are recorded up to this size and truncated beyond it.
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    /**
+     * Exchanges waiting to be written; when the writer falls this far behind, new ones are
+     * dropped (and counted) rather than slowing the client down.
+     */
+    private int queueCapacity = 8192;
+
+    /**
+     * Written records are forced to disk at least this often, or sooner once {@code syncBytes}
+     * are pending.
+     */
+    private Duration syncInterval = Duration.ofMillis(200);
+
+    private DataSize syncBytes = DataSize.ofMegabytes(1);
+
+    /**
+     * Replay pacing relative to the recorded arrival times: 1 replays in real time, 2 twice as
+     * fast, 0 as fast as {@code replayConcurrency} allows.
+     */
+    private double replaySpeed = 1;
+
+    private ReplayMode replayMode = ReplayMode.TIMING;
+
+    /**
+     * Calls in flight at once: the cap in {@code TIMING} mode, the exact number in
+     * {@code CONCURRENCY} mode.
+     */
+    private int replayConcurrency = 64;
+
+    private String replayReport = "target/replay-report.txt";
+
+    public enum ReplayMode {
+        /**
+         * Each call starts at its recorded offset from the first, scaled by {@code replaySpeed}.
+         */
+        TIMING,
+        /**
+         * A fixed number of calls is kept in flight, each starting as soon as another ends.
+         */
+        CONCURRENCY
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "reqres.codec")
+@Configuration("reqresCodecProperties")
+@Data
+public class CodecSettings {
+
+    /**
+     * Replace reflective property access with generated lambdas.
+     */
+    private boolean blackbird = true;
+
+    /**
+     * Largest body buffered for a non-streaming decode; large {@code per_page} pages exceed
+     * Spring's 256KB default.
+     */
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(4);
+
+    /**
+     * Ask for {@code application/x-jackson-smile} ahead of JSON. Only servers that speak it, such
+     * as the local stub, will answer in Smile; others keep sending JSON.
+     */
+    private boolean smile;
+}
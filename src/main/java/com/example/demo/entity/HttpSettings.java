@@ -0,0 +1,48 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.http")
+@Configuration("reqresHttpProperties")
+@Data
+public class HttpSettings {
+
+    private String poolName = "reqres";
+
+    private int maxConnections = 500;
+
+    private int pendingAcquireMaxCount = 1000;
+
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    private Duration evictInBackground = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    private boolean keepAlive = true;
+
+    private boolean http2;
+
+    /**
+     * Use cleartext HTTP/2 (prior knowledge), only meaningful against local stubs.
+     */
+    private boolean h2c;
+
+    /**
+     * Event loop threads dedicated to the client; 0 keeps the Reactor Netty default.
+     */
+    private int loopThreads;
+
+    private boolean metrics = true;
+}
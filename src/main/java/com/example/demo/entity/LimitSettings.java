@@ -0,0 +1,43 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "reqres.limits")
+@Configuration("reqresLimitProperties")
+@Data
+public class LimitSettings {
+
+    /**
+     * Global requests per second across all endpoints; 0 disables the global bucket.
+     */
+    private double ratePerSecond;
+
+    private int burst = 10;
+
+    /**
+     * Requests per second per endpoint, keyed by endpoint property name (usersApi, loginApi, ...).
+     */
+    private Map<String, Double> endpointRatePerSecond = new HashMap<>();
+
+    private int initialConcurrency = 32;
+
+    private int minConcurrency = 1;
+
+    private int maxConcurrency = 512;
+
+    /**
+     * Responses slower than this count as congestion and shrink the concurrency limit.
+     */
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+
+    private double backoffRatio = 0.7;
+
+    private int maxPending = 10_000;
+}
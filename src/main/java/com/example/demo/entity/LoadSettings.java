@@ -0,0 +1,77 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "reqres.load")
+@Configuration("reqresLoadProperties")
+@Data
+public class LoadSettings {
+
+    private Model model = Model.OPEN;
+
+    /**
+     * Target arrivals per second in the open model; must be positive.
+     */
+    private double rate = 100;
+
+    /**
+     * Virtual users in the closed model, each issuing its next call as soon as the last one ends.
+     */
+    private int concurrency = 16;
+
+    /**
+     * Cap on outstanding calls in the open model; arrivals beyond it are counted as dropped.
+     */
+    private int maxInFlight = 10000;
+
+    private Duration warmup = Duration.ofSeconds(5);
+
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Relative weight of each operation in the traffic mix.
+     */
+    private Map<Operation, Integer> mix = defaultMix();
+
+    /**
+     * Ids picked for get/update/patch/delete are drawn uniformly from 1..userIds.
+     */
+    private int userIds = 12;
+
+    private int perPage = 6;
+
+    private String email = "eve.holt@reqres.in";
+
+    private String password = "pistol";
+
+    private String report = "target/load-report.txt";
+
+    public enum Model {
+        OPEN, CLOSED
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        // an EnumMap iterates in declaration order, so the weighted pick is the same on every run
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.GET_USER, 40);
+        mix.put(Operation.LIST_USERS, 20);
+        mix.put(Operation.CREATE, 10);
+        mix.put(Operation.UPDATE, 10);
+        mix.put(Operation.PATCH, 5);
+        mix.put(Operation.DELETE, 5);
+        mix.put(Operation.REGISTER, 5);
+        mix.put(Operation.LOGIN, 5);
+        return mix;
+    }
+
+    public enum Operation {
+        GET_USER, LIST_USERS, CREATE, UPDATE, PATCH, DELETE, REGISTER, LOGIN
+    }
+}
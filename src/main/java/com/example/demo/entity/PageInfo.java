@@ -0,0 +1,11 @@
+package com.example.demo.entity;
+
+import lombok.Data;
+
+@Data
+public class PageInfo {
+    Integer page;
+    Integer per_page;
+    Integer total;
+    Integer total_pages;
+}
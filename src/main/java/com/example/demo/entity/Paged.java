@@ -0,0 +1,16 @@
+package com.example.demo.entity;
+
+import java.util.List;
+
+public interface Paged<T> {
+
+    Integer getPage();
+
+    Integer getPer_page();
+
+    Integer getTotal();
+
+    Integer getTotal_pages();
+
+    List<T> getData();
+}
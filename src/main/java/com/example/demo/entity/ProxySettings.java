@@ -0,0 +1,19 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "reqres.proxy")
+@Configuration("reqresProxyProperties")
+@Data
+public class ProxySettings {
+
+    /**
+     * Bodies up to this size are copied into the response cache while they stream through;
+     * larger ones are passed on without being cached.
+     */
+    private DataSize maxCachedBodySize = DataSize.ofMegabytes(1);
+}
@@ -0,0 +1,34 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.replica")
+@Configuration("reqresReplicaProperties")
+@Data
+public class ReplicaSettings {
+
+    /**
+     * Load the replica once the application is ready and keep it refreshed.
+     */
+    private boolean enabled;
+
+    private int perPage = 12;
+
+    /**
+     * Pages requested concurrently during a sync.
+     */
+    private int concurrency = 4;
+
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Memory-mapped snapshot to serve from on startup and rewrite after each changed sync; empty
+     * disables it.
+     */
+    private String snapshotFile = "";
+}
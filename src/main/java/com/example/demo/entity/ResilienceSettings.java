@@ -0,0 +1,40 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.resilience")
+@Configuration("reqresResilienceProperties")
+@Data
+public class ResilienceSettings {
+
+    private int maxRetries = 2;
+
+    private Duration retryBackoff = Duration.ofMillis(50);
+
+    private Duration maxRetryBackoff = Duration.ofSeconds(1);
+
+    private boolean hedging;
+
+    private double hedgePercentile = 0.95;
+
+    private Duration minHedgeDelay = Duration.ofMillis(10);
+
+    /**
+     * Latency samples required before hedging kicks in.
+     */
+    private int hedgeMinSamples = 100;
+
+    private double breakerFailureRate = 0.5;
+
+    /**
+     * Calls per evaluation window of the circuit breaker.
+     */
+    private int breakerWindow = 50;
+
+    private Duration breakerOpenFor = Duration.ofSeconds(10);
+}
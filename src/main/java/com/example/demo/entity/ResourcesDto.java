@@ -7,7 +7,7 @@ import lombok.Data;
 import java.util.List;
 
 @Data
-public class ResourcesDto {
+public class ResourcesDto implements Paged<Resource> {
     Integer page;
     Integer per_page;
     Integer total;
@@ -0,0 +1,58 @@
+package com.example.demo.entity;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reqres.stub")
+@Configuration("reqresStubProperties")
+@Data
+public class StubSettings {
+
+    /**
+     * Start an in-process stub server together with the application context.
+     */
+    private boolean enabled;
+
+    private String host = "127.0.0.1";
+
+    private int port;
+
+    /**
+     * Users and resources in the dataset; the first 12 of each match reqres.in.
+     */
+    private int users = 12;
+
+    private int resources = 12;
+
+    private int perPage = 6;
+
+    private LatencyDistribution latencyDistribution = LatencyDistribution.NONE;
+
+    /**
+     * Fixed delay, lower bound of the uniform distribution or mean of the exponential one.
+     */
+    private Duration latency = Duration.ZERO;
+
+    /**
+     * Width of the uniform distribution above {@link #latency}.
+     */
+    private Duration latencyJitter = Duration.ZERO;
+
+    /**
+     * Fraction of requests answered with 500.
+     */
+    private double errorRate;
+
+    /**
+     * Fraction of requests answered with 429.
+     */
+    private double throttleRate;
+
+    public enum LatencyDistribution {
+        NONE, FIXED, UNIFORM, EXPONENTIAL
+    }
+}
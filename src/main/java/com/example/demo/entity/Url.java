@@ -5,6 +5,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "reqres")
 @Configuration("reqresProperties")
 @Data
@@ -12,11 +15,22 @@ public class Url {
 
     private String usersApi;
 
-    private String registrationBaseUrl;
+    private String registrationApi;
 
     private String usersApiWithOffset;
 
     private String loginApi;
 
     private String usersApiWithOffsetAndLimit;
+
+    private String resourcesApi;
+
+    private String resourcesApiWithOffsetAndLimit;
+
+    /**
+     * Mirrors ({@code scheme://host:port}) to spread calls over instead of the host of
+     * {@code usersApi}; empty to call that host directly. Endpoints on other hosts take theirs from
+     * {@code reqres.balancer.mirrors}.
+     */
+    private List<String> baseUrls = new ArrayList<>();
 }
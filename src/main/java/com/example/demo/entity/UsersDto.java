@@ -7,13 +7,14 @@ import java.util.List;
 
 
 @Data
-public class UsersDto implements Iterable<User> {
+public class UsersDto implements Iterable<User>, Paged<User> {
 
     Integer page;
     Integer per_page;
     Integer total;
     Integer total_pages;
     List<User> data;
+    Support support;
 
     @Override
     public Iterator<User> iterator() {
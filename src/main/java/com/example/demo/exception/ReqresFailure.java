@@ -1,4 +1,37 @@
 package com.example.demo.exception;
 
-public class ReqresFailure extends RuntimeException{
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class ReqresFailure extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+
+    private final String endpoint;
+
+    private final int attempts;
+
+    private final Duration latency;
+
+    public ReqresFailure(HttpStatus status, String message) {
+        this(status, null, 1, Duration.ZERO, message, null);
+    }
+
+    public ReqresFailure(HttpStatus status, String message, Throwable cause) {
+        this(status, null, 1, Duration.ZERO, message, cause);
+    }
+
+    public ReqresFailure(HttpStatus status, String endpoint, int attempts, Duration latency, String message,
+                         Throwable cause) {
+        super(message, cause);
+        this.status = status;
+        this.endpoint = endpoint;
+        this.attempts = attempts;
+        this.latency = latency;
+    }
 }
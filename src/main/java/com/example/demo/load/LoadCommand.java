@@ -0,0 +1,36 @@
+package com.example.demo.load;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.entity.LoadSettings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the load generator when the application is started with {@code --mode=load}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mode", havingValue = "load")
+public class LoadCommand implements ApplicationRunner {
+
+    private final ReqresClient client;
+
+    private final LoadSettings settings;
+
+    public LoadCommand(ReqresClient client, LoadSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        LoadReport report = new LoadRunner(client, settings).run();
+        Path path = report.write();
+        log.info("load report written to {}\n{}", path.toAbsolutePath(), report.summary());
+    }
+}
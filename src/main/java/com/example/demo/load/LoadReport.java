@@ -0,0 +1,112 @@
+package com.example.demo.load;
+
+import com.example.demo.entity.LoadSettings;
+import com.example.demo.entity.LoadSettings.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadRunner} run: per-operation percentiles, throughput and error breakdown,
+ * followed by the full HdrHistogram percentile distribution of each operation (in milliseconds).
+ */
+public final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LoadSettings settings;
+
+    private final Map<Operation, OperationStats> stats;
+
+    private final long elapsedNanos;
+
+    private final int unfinished;
+
+    LoadReport(LoadSettings settings, Map<Operation, OperationStats> stats, long elapsedNanos, int unfinished) {
+        this.settings = settings;
+        this.stats = stats;
+        this.elapsedNanos = elapsedNanos;
+        this.unfinished = unfinished;
+    }
+
+    public Map<Operation, OperationStats> getStats() {
+        return stats;
+    }
+
+    /**
+     * Calls still outstanding when the run gave up waiting for them; they were cancelled.
+     */
+    public int getUnfinished() {
+        return unfinished;
+    }
+
+    public Path write() {
+        Path path = Path.of(settings.getReport());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(path), false, "UTF-8")) {
+                print(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return path;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-10s %9s %7s %7s %10s %9s %9s %9s %9s %9s%n", "operation", "ok", "errors",
+                "dropped", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        long total = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operation = entry.getValue();
+            Histogram histogram = operation.getResponseTime();
+            long completed = operation.getSuccesses() + operation.getErrorCount();
+            total += completed;
+            summary.append(String.format("%-10s %9d %7d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    operation.getSuccesses(), operation.getErrorCount(), operation.getDropped(), completed / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+        summary.append(String.format("total %d calls in %.1fs, %.1f ops/s, %d unfinished%n", total, seconds,
+                total / seconds, unfinished));
+        return summary.toString();
+    }
+
+    private void print(PrintStream out) {
+        out.printf("model=%s rate=%s concurrency=%d warmup=%s duration=%s%n", settings.getModel(),
+                settings.getModel() == LoadSettings.Model.OPEN ? settings.getRate() + "/s" : "-",
+                settings.getModel() == LoadSettings.Model.CLOSED ? settings.getConcurrency() : 0,
+                settings.getWarmup(), settings.getDuration());
+        out.println();
+        out.print(summary());
+        out.println();
+        out.println("errors:");
+        stats.forEach((operation, operationStats) -> operationStats.getErrors()
+                .forEach((key, count) -> out.printf("  %-10s %-28s %d%n", operation, key, count)));
+        stats.forEach((operation, operationStats) -> {
+            if (operationStats.getResponseTime().getTotalCount() == 0) {
+                return;
+            }
+            out.println();
+            out.printf("%s response time (from intended start), ms:%n", operation);
+            operationStats.getResponseTime().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            out.println();
+            out.printf("%s service time (from issue), ms:%n", operation);
+            operationStats.getServiceTime().outputPercentileDistribution(out, MICROS_PER_MILLI);
+        });
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.demo.load;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.dto.RegistrationRequest;
+import com.example.demo.dto.UpdateUserRequestDto;
+import com.example.demo.entity.LoadSettings;
+import com.example.demo.entity.LoadSettings.Operation;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of reqres operations through {@link ReqresClient}.
+ * <p>
+ * In the open model calls are issued on a fixed schedule regardless of how fast earlier ones
+ * complete, and each latency is measured from its scheduled start, so a stall shows up in every
+ * call it delayed instead of only the one that hit it (coordinated omission). In the closed model
+ * a fixed number of virtual users loop back-to-back; that measures throughput at a concurrency,
+ * not latency under a given load. Nothing is recorded during warmup.
+ */
+@Slf4j
+public class LoadRunner {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int MAX_CREATED_IDS = 10_000;
+
+    private final ReqresClient client;
+
+    private final LoadSettings settings;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    /**
+     * Users created by this run; deletes consume them so they never eat into the ids being read.
+     */
+    private final BlockingQueue<Long> created = new ArrayBlockingQueue<>(MAX_CREATED_IDS);
+
+    public LoadRunner(ReqresClient client, LoadSettings settings) {
+        this.client = client;
+        this.settings = settings;
+        Map<Operation, Integer> mix = settings.getMix();
+        this.operations = mix.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("reqres.load.mix has no operation with a positive weight");
+        }
+        if (settings.getModel() == LoadSettings.Model.OPEN && !(settings.getRate() > 0)) {
+            throw new IllegalArgumentException("reqres.load.rate must be positive, was " + settings.getRate());
+        }
+    }
+
+    public LoadReport run() {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new OperationStats());
+        }
+        log.info("starting {} model load for {} after {} warmup", settings.getModel(),
+                settings.getDuration(), settings.getWarmup());
+        long start = System.nanoTime();
+        long recordFrom = start + settings.getWarmup().toNanos();
+        long end = recordFrom + settings.getDuration().toNanos();
+        int unfinished = settings.getModel() == LoadSettings.Model.OPEN
+                ? runOpen(stats, start, recordFrom, end)
+                : runClosed(stats, recordFrom, end);
+        return new LoadReport(settings, stats, Math.min(System.nanoTime(), end) - recordFrom, unfinished);
+    }
+
+    private int runOpen(Map<Operation, OperationStats> stats, long start, long recordFrom, long end) {
+        long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / settings.getRate()));
+        // i * interval stays below end - start, so the schedule cannot overflow however low the rate
+        long calls = Math.ceilDiv(end - start, interval);
+        AtomicInteger inFlight = new AtomicInteger();
+        Disposable.Composite outstanding = Disposables.composite();
+        for (long i = 0; i < calls; i++) {
+            long intended = start + i * interval;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick();
+            OperationStats operationStats = intended >= recordFrom ? stats.get(operation) : null;
+            if (inFlight.get() >= settings.getMaxInFlight()) {
+                if (operationStats != null) {
+                    operationStats.drop();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long issued = System.nanoTime();
+            Disposable.Swap handle = Disposables.swap();
+            outstanding.add(handle);
+            handle.update(call(operation).doFinally(signal -> outstanding.remove(handle)).subscribe(
+                    null,
+                    error -> {
+                        if (operationStats != null) {
+                            operationStats.failure(intended, issued, System.nanoTime(), error);
+                        }
+                        inFlight.decrementAndGet();
+                    },
+                    () -> {
+                        if (operationStats != null) {
+                            operationStats.success(intended, issued, System.nanoTime());
+                        }
+                        inFlight.decrementAndGet();
+                    }));
+        }
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        int unfinished = inFlight.get();
+        if (unfinished > 0) {
+            log.warn("cancelling {} calls still outstanding after the {} drain timeout", unfinished, DRAIN_TIMEOUT);
+        }
+        outstanding.dispose();
+        return unfinished;
+    }
+
+    private int runClosed(Map<Operation, OperationStats> stats, long recordFrom, long end) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Flux.range(0, settings.getConcurrency())
+                .flatMap(user -> Mono.defer(() -> {
+                            Operation operation = pick();
+                            long issued = System.nanoTime();
+                            OperationStats operationStats = issued >= recordFrom ? stats.get(operation) : null;
+                            inFlight.incrementAndGet();
+                            return call(operation)
+                                    .doOnSuccess(ignored -> {
+                                        inFlight.decrementAndGet();
+                                        if (operationStats != null) {
+                                            operationStats.success(issued, issued, System.nanoTime());
+                                        }
+                                    })
+                                    .onErrorResume(error -> {
+                                        inFlight.decrementAndGet();
+                                        if (operationStats != null) {
+                                            operationStats.failure(issued, issued, System.nanoTime(), error);
+                                        }
+                                        return Mono.empty();
+                                    });
+                        })
+                        .repeat(() -> System.nanoTime() < end), settings.getConcurrency())
+                .then()
+                // cancels the users still waiting on a call; they are reported as unfinished instead of failing the run
+                .timeout(Duration.ofNanos(end - System.nanoTime()).plus(DRAIN_TIMEOUT), Mono.fromRunnable(() ->
+                        log.warn("cancelling {} calls still outstanding after the {} drain timeout", inFlight.get(),
+                                DRAIN_TIMEOUT)))
+                .block();
+        return inFlight.get();
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Mono<Void> call(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = 1 + random.nextInt(settings.getUserIds());
+        return switch (operation) {
+            case GET_USER -> client.getUser(id).then();
+            case LIST_USERS -> client.getUsers(1 + random.nextInt(Math.max(1, settings.getUserIds() / settings.getPerPage())),
+                    settings.getPerPage()).then();
+            case CREATE -> create().doOnNext(created::offer).then();
+            case UPDATE -> client.update(id, UpdateUserRequestDto.builder().name("load").job("runner").build()).then();
+            case PATCH -> client.patch(id, UpdateUserRequestDto.builder().job("runner").build()).then();
+            case DELETE -> Mono.justOrEmpty(created.poll()).switchIfEmpty(create()).flatMap(client::delete);
+            case REGISTER -> client.register(credentials()).then();
+            case LOGIN -> client.login(credentials()).then();
+        };
+    }
+
+    private Mono<Long> create() {
+        return client.create(NewUserRequestDto.builder().name("load").job("runner").build())
+                .map(response -> Long.parseLong(response.getId()));
+    }
+
+    private RegistrationRequest credentials() {
+        return RegistrationRequest.builder().email(settings.getEmail()).password(settings.getPassword()).build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.load;
+
+import com.example.demo.exception.ReqresFailure;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one operation, in microseconds. {@code responseTime} is measured from
+ * the intended start of the call, {@code serviceTime} from the moment it was actually issued; the
+ * two only differ when the runner or the client fell behind schedule.
+ */
+public final class OperationStats {
+
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+
+    private final LongAdder successes = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void success(long intendedNanos, long startNanos, long endNanos) {
+        record(intendedNanos, startNanos, endNanos);
+        successes.increment();
+    }
+
+    void failure(long intendedNanos, long startNanos, long endNanos, Throwable error) {
+        record(intendedNanos, startNanos, endNanos);
+        errors.computeIfAbsent(errorKey(error), key -> new LongAdder()).increment();
+    }
+
+    void drop() {
+        dropped.increment();
+    }
+
+    public Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public Map<String, Long> getErrors() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errors.forEach((key, count) -> snapshot.put(key, count.sum()));
+        return snapshot;
+    }
+
+    private void record(long intendedNanos, long startNanos, long endNanos) {
+        responseTime.recordValue(Math.max(0, (endNanos - intendedNanos) / 1_000));
+        serviceTime.recordValue(Math.max(0, (endNanos - startNanos) / 1_000));
+    }
+
+    private static String errorKey(Throwable error) {
+        if (error instanceof ReqresFailure failure && failure.getStatus() != null) {
+            return Integer.toString(failure.getStatus().value());
+        }
+        return error.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.proxy;
+
+import com.example.demo.client.ResponseCache;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A proxied {@code 200} as kept in the response cache: the representation headers and the raw
+ * body bytes, exactly as received from upstream. Weighs its body plus a rough allowance for the
+ * headers, so the cache's weight bound holds proxied bodies to {@code reqres.cache.maximumWeight}.
+ */
+@Value
+class CachedBody implements ResponseCache.Weighted {
+
+    private static final int HEADERS_WEIGHT = 512;
+
+    HttpHeaders headers;
+    byte[] body;
+
+    @Override
+    public long weight() {
+        return body.length + HEADERS_WEIGHT;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.demo.proxy;
+
+import com.example.demo.client.CacheKey;
+import com.example.demo.client.Endpoint;
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.ResponseCache;
+import com.example.demo.client.Validators;
+import com.example.demo.entity.ProxySettings;
+import com.example.demo.entity.Url;
+import com.example.demo.exception.ReqresFailure;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Serves the reqres API surface ({@code /api/users}, {@code /api/unknown}, {@code /api/register},
+ * {@code /api/login}) by forwarding to the configured upstream through the shared
+ * {@link WebClient}, so its filters (circuit breaker, retries, throttling, metrics) apply to
+ * proxied traffic too. Bodies are passed through as {@link DataBuffer}s and never decoded; request
+ * bodies are joined into one buffer first so retries and failover can send them again.
+ * <p>
+ * GET responses are kept in the shared {@link ResponseCache}: a {@code 200} body is copied while
+ * it streams to the caller and stored once complete (up to {@code maxCachedBodySize}). Fresh
+ * entries are answered locally, honouring the caller's {@code If-None-Match}; expired entries with
+ * validators are revalidated upstream with a conditional GET. Writes to users drop the cached
+ * user and page entries. Each response carries {@code X-Cache: HIT}, {@code REVALIDATED} or
+ * {@code MISS}.
+ */
+@Slf4j
+public class ReqresProxy {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "host");
+
+    private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY);
+
+    private final WebClient webClient;
+
+    private final Url urls;
+
+    private final ResponseCache cache;
+
+    private final long maxCachedBodySize;
+
+    public ReqresProxy(WebClient webClient, Url urls, ResponseCache cache, ProxySettings settings) {
+        this.webClient = webClient;
+        this.urls = urls;
+        this.cache = cache;
+        this.maxCachedBodySize = settings.getMaxCachedBodySize().toBytes();
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/users", request -> get(request, Endpoint.USERS, withQuery(urls.getUsersApi(), request)))
+                .GET("/api/users/", request -> get(request, Endpoint.USERS, withQuery(urls.getUsersApi(), request)))
+                .GET("/api/users/{id}", request -> get(request, Endpoint.USER, urls.getUsersApi() + request.pathVariable("id")))
+                .POST("/api/users", request -> write(request, urls.getUsersApi()))
+                .POST("/api/users/", request -> write(request, urls.getUsersApi()))
+                .PUT("/api/users/{id}", request -> write(request, urls.getUsersApi() + request.pathVariable("id")))
+                .PATCH("/api/users/{id}", request -> write(request, urls.getUsersApi() + request.pathVariable("id")))
+                .DELETE("/api/users/{id}", request -> write(request, urls.getUsersApi() + request.pathVariable("id")))
+                .GET("/api/unknown", request -> get(request, Endpoint.RESOURCES, withQuery(urls.getResourcesApi(), request)))
+                .GET("/api/unknown/", request -> get(request, Endpoint.RESOURCES, withQuery(urls.getResourcesApi(), request)))
+                .GET("/api/unknown/{id}", request -> get(request, Endpoint.RESOURCE,
+                        urls.getResourcesApi() + request.pathVariable("id")))
+                .POST("/api/register", request -> forward(request, Endpoint.REGISTRATION, urls.getRegistrationApi()))
+                .POST("/api/login", request -> forward(request, Endpoint.LOGIN, urls.getLoginApi()))
+                .build();
+    }
+
+    private Mono<ServerResponse> get(ServerRequest request, Endpoint endpoint, String upstream) {
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        // the representation depends on Accept (JSON or Smile) and Accept-Encoding, so both are part of the key
+        CacheKey key = CacheKey.of(endpoint, "proxy " + headers.getFirst(HttpHeaders.ACCEPT) + " "
+                + headers.getFirst(HttpHeaders.ACCEPT_ENCODING) + " " + request.uri().getRawPath() + "?"
+                + request.uri().getRawQuery());
+        ResponseCache.Lookup cached = cache.lookup(key);
+        if (cached != null && cached.isFresh()) {
+            return serve((CachedBody) cached.getValue(), request, "HIT");
+        }
+        Validators validators = cached == null ? Validators.NONE : cached.getValidators();
+        // a write while this GET is in flight makes its response stale before it is stored
+        long generation = cache.generation(key);
+        return exchange(request, HttpMethod.GET, endpoint, upstream, validators)
+                .flatMap(entity -> {
+                    if (entity.getStatusCode() == HttpStatus.NOT_MODIFIED && !validators.isEmpty()) {
+                        return drain(entity).then(Mono.defer(() -> {
+                            cache.put(key, cached.getValue(), validators, generation);
+                            return serve((CachedBody) cached.getValue(), request, "REVALIDATED");
+                        }));
+                    }
+                    Flux<DataBuffer> body = entity.getStatusCode() == HttpStatus.OK ? copyInto(key, generation, entity) : entity.getBody();
+                    return respond(entity, body, "MISS");
+                })
+                .onErrorResume(ReqresProxy::failure);
+    }
+
+    private Mono<ServerResponse> write(ServerRequest request, String upstream) {
+        return forward(request, Endpoint.USER, upstream)
+                .doOnNext(response -> {
+                    if (!response.statusCode().isError()) {
+                        cache.invalidate(Endpoint.USER, Endpoint.USERS);
+                    }
+                });
+    }
+
+    private Mono<ServerResponse> forward(ServerRequest request, Endpoint endpoint, String upstream) {
+        return exchange(request, request.method(), endpoint, upstream, Validators.NONE)
+                .flatMap(entity -> respond(entity, entity.getBody(), "MISS"))
+                .onErrorResume(ReqresProxy::failure);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> exchange(ServerRequest request, HttpMethod method, Endpoint endpoint,
+                                                            String upstream, Validators validators) {
+        WebClient.RequestBodySpec spec = webClient.method(method)
+                .uri(URI.create(upstream))
+                .attribute(ReqresClient.ENDPOINT_ATTRIBUTE, endpoint)
+                .headers(headers -> {
+                    copyHeaders(request.headers().asHttpHeaders(), headers);
+                    if (!validators.isEmpty()) {
+                        // our validators describe the cached copy; the caller's are answered locally
+                        headers.remove(HttpHeaders.IF_NONE_MATCH);
+                        headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                        if (validators.getEtag() != null) {
+                            headers.setIfNoneMatch(validators.getEtag());
+                        }
+                        if (validators.getLastModified() != null) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, validators.getLastModified());
+                        }
+                    }
+                });
+        if (method == HttpMethod.GET || method == HttpMethod.DELETE) {
+            return relay(spec);
+        }
+        // the inbound body can be read only once, but retries and failover re-send the request
+        return DataBufferUtils.join(request.bodyToFlux(DataBuffer.class))
+                .map(ReqresProxy::bytes)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> relay(spec.bodyValue(body)));
+    }
+
+    private static Mono<ResponseEntity<Flux<DataBuffer>>> relay(WebClient.RequestHeadersSpec<?> spec) {
+        return spec.retrieve()
+                // every status is relayed to the caller as is
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+
+    private static byte[] bytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static Mono<ServerResponse> respond(ResponseEntity<Flux<DataBuffer>> entity, Flux<DataBuffer> body, String cacheStatus) {
+        return ServerResponse.status(entity.getStatusCodeValue())
+                .headers(headers -> copyHeaders(entity.getHeaders(), headers))
+                .header(CACHE_HEADER, cacheStatus)
+                .body(BodyInserters.fromDataBuffers(body == null ? Flux.empty() : body));
+    }
+
+    private static Mono<ServerResponse> serve(CachedBody cached, ServerRequest request, String cacheStatus) {
+        String etag = cached.getHeaders().getETag();
+        boolean notModified = etag != null && request.headers().asHttpHeaders().getIfNoneMatch().contains(etag);
+        ServerResponse.BodyBuilder response = ServerResponse.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .headers(headers -> headers.addAll(cached.getHeaders()))
+                .header(CACHE_HEADER, cacheStatus);
+        if (notModified) {
+            return response.build();
+        }
+        byte[] body = cached.getBody();
+        return response.contentLength(body.length)
+                .body(BodyInserters.fromDataBuffers(Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(body))));
+    }
+
+    /**
+     * Passes the body on unchanged while copying it; the copy is cached once the body completes,
+     * unless it outgrew {@code maxCachedBodySize}.
+     */
+    private Flux<DataBuffer> copyInto(CacheKey key, long generation, ResponseEntity<Flux<DataBuffer>> entity) {
+        if (entity.getBody() == null) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            boolean[] tooLarge = {false};
+            return entity.getBody()
+                    .doOnNext(buffer -> {
+                        int length = buffer.readableByteCount();
+                        if (tooLarge[0] || copy.size() + (long) length > maxCachedBodySize) {
+                            tooLarge[0] = true;
+                            return;
+                        }
+                        // a view: the buffer's read position is untouched for the downstream writer
+                        ByteBuffer view = buffer.asByteBuffer();
+                        byte[] bytes = new byte[length];
+                        view.get(bytes);
+                        copy.write(bytes, 0, length);
+                    })
+                    .doOnComplete(() -> {
+                        if (!tooLarge[0]) {
+                            HttpHeaders headers = new HttpHeaders();
+                            for (String name : CACHED_HEADERS) {
+                                List<String> values = entity.getHeaders().get(name);
+                                if (values != null) {
+                                    headers.put(name, values);
+                                }
+                            }
+                            cache.put(key, new CachedBody(headers, copy.toByteArray()), new Validators(
+                                    headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED)), generation);
+                        }
+                    });
+        });
+    }
+
+    private static Mono<Void> drain(ResponseEntity<Flux<DataBuffer>> entity) {
+        return entity.getBody() == null ? Mono.empty() : entity.getBody().doOnNext(DataBufferUtils::release).then();
+    }
+
+    private static Mono<ServerResponse> failure(Throwable error) {
+        if (error instanceof ReqresFailure failure && failure.getStatus() != null) {
+            return ServerResponse.status(failure.getStatus()).bodyValue(String.valueOf(failure.getMessage()));
+        }
+        log.warn("proxied call failed", error);
+        return ServerResponse.status(HttpStatus.BAD_GATEWAY).build();
+    }
+
+    private static String withQuery(String base, ServerRequest request) {
+        String query = request.uri().getRawQuery();
+        return query == null ? base : base + "?" + query;
+    }
+
+    private static void copyHeaders(HttpHeaders from, HttpHeaders to) {
+        from.forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                to.put(name, values);
+            }
+        });
+    }
+}
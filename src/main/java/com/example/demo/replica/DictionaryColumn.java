@@ -0,0 +1,66 @@
+package com.example.demo.replica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Low-cardinality strings (colors, pantone values, URL prefixes, email domains) stored once in a dictionary
+ * and referenced per row by an {@code int} code; {@code -1} is null.
+ */
+final class DictionaryColumn {
+
+    private final int[] codes;
+
+    private final String[] dictionary;
+
+    private DictionaryColumn(int[] codes, String[] dictionary) {
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    String get(int row) {
+        int code = codes[row];
+        return code < 0 ? null : dictionary[code];
+    }
+
+    int cardinality() {
+        return dictionary.length;
+    }
+
+    long retainedBytes() {
+        long bytes = 4L * codes.length;
+        for (String value : dictionary) {
+            bytes += 40 + value.length();
+        }
+        return bytes;
+    }
+
+    static final class Builder {
+
+        private final int[] codes;
+
+        private final Map<String, Integer> index = new HashMap<>();
+
+        private final List<String> dictionary = new ArrayList<>();
+
+        private int rows;
+
+        Builder(int capacity) {
+            this.codes = new int[capacity];
+        }
+
+        void add(String value) {
+            codes[rows++] = value == null ? -1 : index.computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+
+        DictionaryColumn build() {
+            return new DictionaryColumn(Arrays.copyOf(codes, rows), dictionary.toArray(new String[0]));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.replica;
+
+import com.example.demo.client.ConditionalResponse;
+import com.example.demo.client.Validators;
+import com.example.demo.entity.Paged;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Pulls every page of one paged endpoint with conditional GETs, remembering each page's validators
+ * and item ids between runs. Pages the server answers with {@code 304} are rebuilt from the records
+ * already in the replica, so a refresh only downloads and decodes what changed and no decoded page
+ * is kept alive beside the compact tables.
+ */
+final class PageSync<T, P extends Paged<T>> {
+
+    private final BiFunction<Integer, Validators, Mono<ConditionalResponse<P>>> fetcher;
+
+    private final ToLongFunction<T> idOf;
+
+    private final LongFunction<T> known;
+
+    private final Map<Integer, Page> pages = new ConcurrentHashMap<>();
+
+    PageSync(BiFunction<Integer, Validators, Mono<ConditionalResponse<P>>> fetcher, ToLongFunction<T> idOf,
+             LongFunction<T> known) {
+        this.fetcher = fetcher;
+        this.idOf = idOf;
+        this.known = known;
+    }
+
+    /**
+     * Emits all items in page order together with how many pages actually had to be decoded.
+     */
+    Mono<Result<T>> sync(int concurrency) {
+        return fetch(1).flatMap(first -> Flux.range(2, Math.max(0, first.totalPages - 1))
+                .flatMapSequential(this::fetch, concurrency)
+                .collectList()
+                .map(rest -> {
+                    pages.keySet().removeIf(page -> page > first.totalPages);
+                    List<T> items = new ArrayList<>(first.items);
+                    int changed = first.changed ? 1 : 0;
+                    for (Fetched<T> page : rest) {
+                        items.addAll(page.items);
+                        changed += page.changed ? 1 : 0;
+                    }
+                    return new Result<>(items, first.totalPages, changed);
+                }));
+    }
+
+    private Mono<Fetched<T>> fetch(int number) {
+        Page previous = pages.get(number);
+        return fetcher.apply(number, previous == null ? Validators.NONE : previous.validators)
+                .flatMap(response -> {
+                    if (response.isNotModified() && previous != null) {
+                        List<T> items = new ArrayList<>(previous.ids.length);
+                        for (long id : previous.ids) {
+                            T item = known.apply(id);
+                            if (item == null) {
+                                // the replica no longer has it; fall back to a full download
+                                pages.remove(number);
+                                return fetch(number);
+                            }
+                            items.add(item);
+                        }
+                        return Mono.just(new Fetched<>(previous.totalPages, items, false));
+                    }
+                    P body = response.getBody();
+                    List<T> items = body.getData() == null ? Collections.<T>emptyList() : body.getData();
+                    int totalPages = body.getTotal_pages() == null ? 1 : body.getTotal_pages();
+                    pages.put(number, new Page(response.getValidators(), totalPages, items.stream().mapToLong(idOf).toArray()));
+                    return Mono.just(new Fetched<>(totalPages, items, true));
+                });
+    }
+
+    static final class Result<T> {
+
+        final List<T> items;
+
+        final int pages;
+
+        final int changedPages;
+
+        Result(List<T> items, int pages, int changedPages) {
+            this.items = items;
+            this.pages = pages;
+            this.changedPages = changedPages;
+        }
+    }
+
+    private static final class Fetched<T> {
+
+        final int totalPages;
+
+        final List<T> items;
+
+        final boolean changed;
+
+        Fetched(int totalPages, List<T> items, boolean changed) {
+            this.totalPages = totalPages;
+            this.items = items;
+            this.changed = changed;
+        }
+    }
+
+    private static final class Page {
+
+        final Validators validators;
+
+        final int totalPages;
+
+        final long[] ids;
+
+        Page(Validators validators, int totalPages, long[] ids) {
+            this.validators = validators;
+            this.totalPages = totalPages;
+            this.ids = ids;
+        }
+    }
+}
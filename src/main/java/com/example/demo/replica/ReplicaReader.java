@@ -0,0 +1,30 @@
+package com.example.demo.replica;
+
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.User;
+
+import java.util.List;
+
+/**
+ * Read side shared by the in-heap {@link ReplicaSnapshot} and the memory-mapped
+ * {@link SnapshotFile}; lookups return {@code null} when nothing matches.
+ */
+interface ReplicaReader {
+
+    User user(long id);
+
+    User userByEmail(String email);
+
+    List<User> usersByLastName(String lastName);
+
+    Resource resource(long id);
+
+    /**
+     * All users in id order.
+     */
+    List<User> users();
+
+    List<Resource> resources();
+
+    long retainedBytes();
+}
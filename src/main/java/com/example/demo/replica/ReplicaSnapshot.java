@@ -0,0 +1,62 @@
+package com.example.demo.replica;
+
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.User;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable, fully indexed view of the directory at one point in time, held in columnar
+ * {@link UserTable} and {@link ResourceTable}s: ids are primitive {@code long}s resolved to rows
+ * without boxing, and no per-record objects are retained between reads.
+ */
+final class ReplicaSnapshot implements ReplicaReader {
+
+    static final ReplicaSnapshot EMPTY = new ReplicaSnapshot(Collections.emptyList(), Collections.emptyList());
+
+    private final UserTable users;
+
+    private final ResourceTable resources;
+
+    ReplicaSnapshot(Collection<User> users, Collection<Resource> resources) {
+        this.users = new UserTable(users);
+        this.resources = new ResourceTable(resources);
+    }
+
+    @Override
+    public User user(long id) {
+        return users.user(id);
+    }
+
+    @Override
+    public User userByEmail(String email) {
+        return users.userByEmail(email);
+    }
+
+    @Override
+    public List<User> usersByLastName(String lastName) {
+        return users.usersByLastName(lastName);
+    }
+
+    @Override
+    public Resource resource(long id) {
+        return resources.resource(id);
+    }
+
+    @Override
+    public List<User> users() {
+        return users.users();
+    }
+
+    @Override
+    public List<Resource> resources() {
+        return resources.resources();
+    }
+
+    @Override
+    public long retainedBytes() {
+        return users.retainedBytes() + resources.retainedBytes();
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.demo.replica;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.diff.ChangeEvent;
+import com.example.demo.diff.RecordSchema;
+import com.example.demo.diff.SnapshotDiff;
+import com.example.demo.entity.ReplicaSettings;
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.ResourcesDto;
+import com.example.demo.entity.User;
+import com.example.demo.entity.UsersDto;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local copy of every reqres user and resource, served without a network hop. A sync walks the
+ * paged endpoints with conditional GETs (see {@link PageSync}), builds a new {@link ReplicaSnapshot}
+ * off to the side and publishes it with a single volatile write, so readers never lock and never
+ * see a half-built index. With {@code reqres.replica.enabled} the first sync runs once the
+ * application is ready and later ones every {@code refreshInterval}.
+ * <p>
+ * With {@code reqres.replica.snapshotFile} set, each changed sync is also written to a
+ * memory-mapped {@link SnapshotFile} and reads are served from the mapping instead of heap tables.
+ * On startup an existing valid file is mapped before the first sync, so lookups are answered
+ * immediately while the refresh runs in the background.
+ * <p>
+ * While anyone subscribes to {@link #userChanges()} or {@link #resourceChanges()}, each swap is
+ * diffed against the previous snapshot with a {@link SnapshotDiff} and the changes are published.
+ */
+@Slf4j
+@Component
+public class ReplicaStore implements AutoCloseable {
+
+    private final ReplicaSettings settings;
+
+    private final PageSync<User, UsersDto> userPages;
+
+    private final PageSync<Resource, ResourcesDto> resourcePages;
+
+    private volatile ReplicaReader reader = ReplicaSnapshot.EMPTY;
+
+    private volatile Disposable schedule;
+
+    private final Sinks.Many<ChangeEvent<User>> userChanges = Sinks.many().multicast().directBestEffort();
+
+    private final Sinks.Many<ChangeEvent<Resource>> resourceChanges = Sinks.many().multicast().directBestEffort();
+
+    public ReplicaStore(ReqresClient client, ReplicaSettings settings) {
+        this.settings = settings;
+        this.userPages = new PageSync<>((page, validators) -> client.getUsers(page, settings.getPerPage(), validators),
+                User::getId, id -> reader.user(id));
+        this.resourcePages = new PageSync<>((page, validators) -> client.getResources(page, settings.getPerPage(), validators),
+                Resource::getId, id -> reader.resource(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!settings.isEnabled() || schedule != null) {
+            return;
+        }
+        restore();
+        schedule = Flux.interval(Duration.ZERO, settings.getRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .doOnNext(stats -> log.debug("replica refreshed: {}", stats))
+                        .onErrorResume(error -> {
+                            log.warn("replica refresh failed, keeping the previous snapshot", error);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    /**
+     * Maps the configured snapshot file if nothing has been loaded yet; returns whether reads are
+     * now served from it. A missing, foreign or corrupt file is skipped and left for the next sync
+     * to overwrite.
+     */
+    public boolean restore() {
+        Path path = snapshotPath();
+        if (path == null || reader != ReplicaSnapshot.EMPTY || !Files.isRegularFile(path)) {
+            return false;
+        }
+        try {
+            SnapshotFile file = SnapshotFile.open(path);
+            reader = file;
+            log.info("replica restored from {}: {} users, {} resources", path, file.users().size(), file.resources().size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("ignoring replica snapshot {}", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Syncs users and resources and swaps in the new snapshot; concurrent calls are not coalesced.
+     */
+    public Mono<SyncStats> refresh() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.zip(userPages.sync(settings.getConcurrency()), resourcePages.sync(settings.getConcurrency()))
+                    .flatMap(results -> {
+                        PageSync.Result<User> users = results.getT1();
+                        PageSync.Result<Resource> resources = results.getT2();
+                        // a restored file carries no validators, so the first sync after it always changes
+                        Mono<ReplicaReader> next = users.changedPages > 0 || resources.changedPages > 0
+                                || reader == ReplicaSnapshot.EMPTY
+                                ? build(users.items, resources.items)
+                                : Mono.just(reader);
+                        return next.map(built -> {
+                            ReplicaReader previous = reader;
+                            reader = built;
+                            if (built != previous) {
+                                publishChanges(previous, built);
+                            }
+                            return new SyncStats(users.items.size(), resources.items.size(),
+                                    users.pages + resources.pages, users.changedPages + resources.changedPages,
+                                    Duration.ofNanos(System.nanoTime() - start));
+                        });
+                    });
+        });
+    }
+
+    private synchronized void publishChanges(ReplicaReader previous, ReplicaReader current) {
+        if (userChanges.currentSubscriberCount() > 0) {
+            publish(userChanges, new SnapshotDiff<>(RecordSchema.USERS).diff(previous.users().iterator(),
+                    current.users().iterator()));
+        }
+        if (resourceChanges.currentSubscriberCount() > 0) {
+            publish(resourceChanges, new SnapshotDiff<>(RecordSchema.RESOURCES).diff(previous.resources().iterator(),
+                    current.resources().iterator()));
+        }
+    }
+
+    private static <T> void publish(Sinks.Many<ChangeEvent<T>> sink, Iterator<ChangeEvent<T>> changes) {
+        while (changes.hasNext()) {
+            sink.tryEmitNext(changes.next());
+        }
+    }
+
+    private Mono<ReplicaReader> build(List<User> users, List<Resource> resources) {
+        Path path = snapshotPath();
+        if (path == null) {
+            return Mono.fromSupplier(() -> new ReplicaSnapshot(users, resources));
+        }
+        return Mono.<ReplicaReader>fromCallable(() -> {
+                    SnapshotFile.write(path, users, resources);
+                    return SnapshotFile.open(path);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(IOException.class, error -> {
+                    log.warn("could not write replica snapshot {}, keeping it on the heap", path, error);
+                    return Mono.just(new ReplicaSnapshot(users, resources));
+                });
+    }
+
+    private Path snapshotPath() {
+        String file = settings.getSnapshotFile();
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    public Optional<User> user(long id) {
+        return Optional.ofNullable(reader.user(id));
+    }
+
+    public Optional<User> userByEmail(String email) {
+        return email == null ? Optional.empty() : Optional.ofNullable(reader.userByEmail(email));
+    }
+
+    public List<User> usersByLastName(String lastName) {
+        return lastName == null ? List.of() : reader.usersByLastName(lastName);
+    }
+
+    public Optional<Resource> resource(long id) {
+        return Optional.ofNullable(reader.resource(id));
+    }
+
+    /**
+     * All users, sorted by id.
+     */
+    public List<User> users() {
+        return reader.users();
+    }
+
+    public List<Resource> resources() {
+        return reader.resources();
+    }
+
+    /**
+     * Users created, updated or deleted by each sync from now on, in id order within a sync.
+     * Subscribers that fall behind miss events rather than holding up the sync.
+     */
+    public Flux<ChangeEvent<User>> userChanges() {
+        return userChanges.asFlux();
+    }
+
+    public Flux<ChangeEvent<Resource>> resourceChanges() {
+        return resourceChanges.asFlux();
+    }
+
+    /**
+     * Approximate heap held by the current snapshot's columns and indexes; zero when it is served
+     * from the mapped file.
+     */
+    public long retainedBytes() {
+        return reader.retainedBytes();
+    }
+
+    @Override
+    public void close() {
+        Disposable current = schedule;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Value
+    public static class SyncStats {
+        int users;
+        int resources;
+        int pages;
+        int changedPages;
+        Duration took;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demo.replica;
+
+import com.example.demo.entity.Resource;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented, read-only resources sorted by id: {@code long[]} ids, packed names, {@code int}
+ * years and dictionary-encoded colors and pantone values, read through flyweight
+ * {@link Resource} views. A year that is not a plain integer is kept verbatim on the side.
+ */
+final class ResourceTable {
+
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private final SortedIds ids;
+
+    private final StringColumn name;
+
+    private final int[] year;
+
+    private final Map<Integer, String> irregularYears;
+
+    private final DictionaryColumn color;
+
+    private final DictionaryColumn pantoneValue;
+
+    private final List<Resource> views;
+
+    ResourceTable(Collection<Resource> resources) {
+        List<Resource> sorted = new ArrayList<>(resources);
+        sorted.removeIf(resource -> resource.getId() == null);
+        sorted.sort(Comparator.comparing(Resource::getId));
+        int size = sorted.size();
+        long[] idArray = new long[size];
+        int[] years = new int[size];
+        Map<Integer, String> irregular = new HashMap<>();
+        StringColumn.Builder names = new StringColumn.Builder(size);
+        DictionaryColumn.Builder colors = new DictionaryColumn.Builder(size);
+        DictionaryColumn.Builder pantones = new DictionaryColumn.Builder(size);
+        int rows = 0;
+        for (Resource resource : sorted) {
+            if (rows > 0 && idArray[rows - 1] == resource.getId()) {
+                continue;
+            }
+            idArray[rows] = resource.getId();
+            years[rows] = parseYear(resource.getYear());
+            if (years[rows] == NO_YEAR && resource.getYear() != null) {
+                irregular.put(rows, resource.getYear());
+            }
+            names.add(resource.getName());
+            colors.add(resource.getColor());
+            pantones.add(resource.getPantone_value());
+            rows++;
+        }
+        this.ids = new SortedIds(Arrays.copyOf(idArray, rows));
+        this.year = Arrays.copyOf(years, rows);
+        this.irregularYears = irregular.isEmpty() ? Map.of() : irregular;
+        this.name = names.build();
+        this.color = colors.build();
+        this.pantoneValue = pantones.build();
+        this.views = new AbstractList<>() {
+            @Override
+            public Resource get(int row) {
+                return new ResourceView(ResourceTable.this, row);
+            }
+
+            @Override
+            public int size() {
+                return ids.size();
+            }
+        };
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    Resource resource(long id) {
+        int row = ids.row(id);
+        return row < 0 ? null : views.get(row);
+    }
+
+    List<Resource> resources() {
+        return views;
+    }
+
+    long retainedBytes() {
+        return ids.retainedBytes() + name.retainedBytes() + 4L * year.length + color.retainedBytes()
+                + pantoneValue.retainedBytes();
+    }
+
+    private String year(int row) {
+        return year[row] == NO_YEAR ? irregularYears.get(row) : Integer.toString(year[row]);
+    }
+
+    private static int parseYear(String value) {
+        if (value == null || value.isEmpty() || value.length() > 9 || (value.length() > 1 && value.charAt(0) == '0')) {
+            return NO_YEAR;
+        }
+        int parsed = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_YEAR;
+            }
+            parsed = parsed * 10 + (c - '0');
+        }
+        return parsed;
+    }
+
+    private static final class ResourceView extends Resource {
+
+        private final ResourceTable table;
+
+        private final int row;
+
+        ResourceView(ResourceTable table, int row) {
+            this.table = table;
+            this.row = row;
+        }
+
+        @Override
+        public Long getId() {
+            return table.ids.get(row);
+        }
+
+        @Override
+        public String getName() {
+            return table.name.get(row);
+        }
+
+        @Override
+        public String getYear() {
+            return table.year(row);
+        }
+
+        @Override
+        public String getColor() {
+            return table.color.get(row);
+        }
+
+        @Override
+        public String getPantone_value() {
+            return table.pantoneValue.get(row);
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw new UnsupportedOperationException("replica resources are read-only");
+        }
+
+        @Override
+        public void setName(String name) {
+            throw new UnsupportedOperationException("replica resources are read-only");
+        }
+
+        @Override
+        public void setYear(String year) {
+            throw new UnsupportedOperationException("replica resources are read-only");
+        }
+
+        @Override
+        public void setColor(String color) {
+            throw new UnsupportedOperationException("replica resources are read-only");
+        }
+
+        @Override
+        public void setPantone_value(String pantoneValue) {
+            throw new UnsupportedOperationException("replica resources are read-only");
+        }
+    }
+}
@@ -0,0 +1,601 @@
+package com.example.demo.replica;
+
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of the directory, read through a read-only {@link MappedByteBuffer} so a
+ * restarted process can answer lookups straight from the page cache, before its first sync and
+ * without loading the records onto the heap.
+ * <p>
+ * Layout (little-endian, all offsets absolute {@code int}s, so a file is at most 2 GiB):
+ * <pre>
+ * header   magic, version, user count, resource count, created-at millis, CRC-32 of everything
+ *          after the header, file size, then the offset of each section below
+ * users    ids (long, ascending) | record offsets (int, same order) | email hash table
+ *          (slot count, then int hash + int row+1 per slot) | rows ordered by lower-cased last name
+ *          | records: long id, then email, first_name, last_name, avatar
+ * resources ids | record offsets | records: long id, then name, year, color, pantone_value
+ * </pre>
+ * Strings are an {@code int} UTF-8 length ({@code -1} for null) followed by the bytes. Id lookups
+ * are an offset computation when the ids are one dense run and a binary search otherwise. Records
+ * are returned as views that decode a field only when its getter is called.
+ * <p>
+ * There is nothing to close: the JDK offers no supported unmap, so the mapping is released with the
+ * last reference to this object, and views handed out stay readable after a newer snapshot replaces it.
+ */
+final class SnapshotFile implements ReplicaReader {
+
+    static final int MAGIC = 0x52515253;
+
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+
+    private static final int CRC_POSITION = 24;
+
+    private final Path path;
+
+    private final ByteBuffer buffer;
+
+    private final Section users;
+
+    private final Section resources;
+
+    private final int emailIndex;
+
+    private final int emailSlots;
+
+    private final int emailShift;
+
+    private final int lastNameIndex;
+
+    private final long createdAt;
+
+    private SnapshotFile(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        int userCount = buffer.getInt(8);
+        int resourceCount = buffer.getInt(12);
+        this.createdAt = buffer.getLong(16);
+        this.users = new Section(userCount, buffer.getInt(40), buffer.getInt(44));
+        this.emailIndex = buffer.getInt(48);
+        this.lastNameIndex = buffer.getInt(52);
+        this.resources = new Section(resourceCount, buffer.getInt(56), buffer.getInt(60));
+        this.emailSlots = buffer.getInt(emailIndex);
+        this.emailShift = 64 - Integer.numberOfTrailingZeros(emailSlots);
+    }
+
+    /**
+     * Maps and validates {@code path}; fails on a foreign file, another schema version, a
+     * truncated file or a checksum mismatch.
+     */
+    static SnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a replica snapshot: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a replica snapshot: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + " in " + path);
+            }
+            if (buffer.getLong(32) != size) {
+                throw new IOException("Truncated snapshot " + path);
+            }
+            if (buffer.getLong(CRC_POSITION) != crc(buffer)) {
+                throw new IOException("Checksum mismatch in snapshot " + path);
+            }
+            return new SnapshotFile(path, buffer);
+        }
+    }
+
+    /**
+     * Writes a snapshot next to {@code path} and atomically moves it into place, so a crash never
+     * leaves a half-written file where {@link #open} would look.
+     */
+    static void write(Path path, List<User> users, List<Resource> resources) throws IOException {
+        List<User> sortedUsers = sortedById(users, User::getId);
+        List<Resource> sortedResources = sortedById(resources, Resource::getId);
+        int userCount = sortedUsers.size();
+        int resourceCount = sortedResources.size();
+        int slots = Integer.highestOneBit(Math.max(1, userCount) * 2 - 1) << 1;
+
+        long size = HEADER_SIZE;
+        long userIds = size;
+        size += 12L * userCount;
+        long emailIndex = size;
+        size += 4 + 8L * slots;
+        long lastNameIndex = size;
+        size += 4L * userCount;
+        long userRecords = size;
+        for (User user : sortedUsers) {
+            size += 8 + length(user.getEmail()) + length(user.getFirst_name()) + length(user.getLast_name())
+                    + length(user.getAvatar());
+        }
+        long resourceIds = size;
+        size += 12L * resourceCount;
+        long resourceRecords = size;
+        for (Resource resource : sortedResources) {
+            size += 8 + length(resource.getName()) + length(resource.getYear()) + length(resource.getColor())
+                    + length(resource.getPantone_value());
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + size + " bytes exceeds the 2 GiB format limit");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                ByteBuffer out = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+                int[] userOffsets = new int[userCount];
+                out.position((int) userRecords);
+                for (int row = 0; row < userCount; row++) {
+                    User user = sortedUsers.get(row);
+                    userOffsets[row] = out.position();
+                    out.putLong(user.getId());
+                    putString(out, user.getEmail());
+                    putString(out, user.getFirst_name());
+                    putString(out, user.getLast_name());
+                    putString(out, user.getAvatar());
+                }
+                out.position((int) userIds);
+                for (User user : sortedUsers) {
+                    out.putLong(user.getId());
+                }
+                for (int offset : userOffsets) {
+                    out.putInt(offset);
+                }
+
+                int shift = 64 - Integer.numberOfTrailingZeros(slots);
+                out.putInt((int) emailIndex, slots);
+                for (int row = 0; row < userCount; row++) {
+                    String email = sortedUsers.get(row).getEmail();
+                    if (email == null) {
+                        continue;
+                    }
+                    int hash = normalize(email).hashCode();
+                    int slot = slot(hash, shift);
+                    while (out.getInt(slotPosition((int) emailIndex, slot) + 4) != 0) {
+                        slot = (slot + 1) & (slots - 1);
+                    }
+                    out.putInt(slotPosition((int) emailIndex, slot), hash);
+                    out.putInt(slotPosition((int) emailIndex, slot) + 4, row + 1);
+                }
+
+                Integer[] byLastName = new Integer[userCount];
+                for (int row = 0; row < userCount; row++) {
+                    byLastName[row] = row;
+                }
+                Arrays.sort(byLastName, Comparator.comparing(row -> lastNameKey(sortedUsers.get(row).getLast_name()),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+                out.position((int) lastNameIndex);
+                for (Integer row : byLastName) {
+                    out.putInt(row);
+                }
+
+                int[] resourceOffsets = new int[resourceCount];
+                out.position((int) resourceRecords);
+                for (int row = 0; row < resourceCount; row++) {
+                    Resource resource = sortedResources.get(row);
+                    resourceOffsets[row] = out.position();
+                    out.putLong(resource.getId());
+                    putString(out, resource.getName());
+                    putString(out, resource.getYear());
+                    putString(out, resource.getColor());
+                    putString(out, resource.getPantone_value());
+                }
+                out.position((int) resourceIds);
+                for (Resource resource : sortedResources) {
+                    out.putLong(resource.getId());
+                }
+                for (int offset : resourceOffsets) {
+                    out.putInt(offset);
+                }
+
+                out.putInt(0, MAGIC);
+                out.putInt(4, VERSION);
+                out.putInt(8, userCount);
+                out.putInt(12, resourceCount);
+                out.putLong(16, System.currentTimeMillis());
+                out.putLong(32, size);
+                out.putInt(40, (int) userIds);
+                out.putInt(44, (int) (userIds + 8L * userCount));
+                out.putInt(48, (int) emailIndex);
+                out.putInt(52, (int) lastNameIndex);
+                out.putInt(56, (int) resourceIds);
+                out.putInt(60, (int) (resourceIds + 8L * resourceCount));
+                out.putLong(CRC_POSITION, crc(out));
+                mapped.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long createdAt() {
+        return createdAt;
+    }
+
+    @Override
+    public User user(long id) {
+        int row = users.row(id);
+        return row < 0 ? null : new MappedUser(users.offset(row));
+    }
+
+    @Override
+    public User userByEmail(String email) {
+        String key = normalize(email);
+        int hash = key.hashCode();
+        for (int slot = slot(hash, emailShift); ; slot = (slot + 1) & (emailSlots - 1)) {
+            int position = slotPosition(emailIndex, slot);
+            int row = buffer.getInt(position + 4) - 1;
+            if (row < 0) {
+                return null;
+            }
+            if (buffer.getInt(position) == hash) {
+                MappedUser user = new MappedUser(users.offset(row));
+                if (key.equals(normalize(user.getEmail()))) {
+                    return user;
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<User> usersByLastName(String lastName) {
+        String key = normalize(lastName);
+        int low = 0;
+        int high = users.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            String candidate = lastNameKey(lastNameAt(mid));
+            if (candidate != null && candidate.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<User> matches = new ArrayList<>(1);
+        for (int i = low; i < users.count && key.equals(lastNameKey(lastNameAt(i))); i++) {
+            matches.add(new MappedUser(users.offset(buffer.getInt(lastNameIndex + 4 * i))));
+        }
+        matches.sort(Comparator.comparing(User::getId));
+        return matches;
+    }
+
+    @Override
+    public Resource resource(long id) {
+        int row = resources.row(id);
+        return row < 0 ? null : new MappedResource(resources.offset(row));
+    }
+
+    @Override
+    public List<User> users() {
+        return new AbstractList<>() {
+            @Override
+            public User get(int row) {
+                return new MappedUser(users.offset(row));
+            }
+
+            @Override
+            public int size() {
+                return users.count;
+            }
+        };
+    }
+
+    @Override
+    public List<Resource> resources() {
+        return new AbstractList<>() {
+            @Override
+            public Resource get(int row) {
+                return new MappedResource(resources.offset(row));
+            }
+
+            @Override
+            public int size() {
+                return resources.count;
+            }
+        };
+    }
+
+    /**
+     * Mapped pages live outside the heap; only the indexes' bookkeeping is retained here.
+     */
+    @Override
+    public long retainedBytes() {
+        return 0;
+    }
+
+    private String lastNameAt(int index) {
+        int offset = users.offset(buffer.getInt(lastNameIndex + 4 * index));
+        return stringAt(skipStrings(offset + 8, 2));
+    }
+
+    private int skipStrings(int position, int count) {
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt(position);
+            position += 4 + Math.max(0, length);
+        }
+        return position;
+    }
+
+    private String stringAt(int position) {
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int slotPosition(int emailIndex, int slot) {
+        return emailIndex + 4 + 8 * slot;
+    }
+
+    private static int slot(int hash, int shift) {
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static long crc(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE).limit(buffer.capacity()));
+        return crc.getValue();
+    }
+
+    private static <T> List<T> sortedById(List<T> records, Function<T, Long> id) {
+        List<T> sorted = new ArrayList<>(records.size());
+        for (T record : records) {
+            if (id.apply(record) != null) {
+                sorted.add(record);
+            }
+        }
+        sorted.sort(Comparator.comparing(id));
+        List<T> unique = new ArrayList<>(sorted.size());
+        for (T record : sorted) {
+            if (unique.isEmpty() || !id.apply(unique.get(unique.size() - 1)).equals(id.apply(record))) {
+                unique.add(record);
+            }
+        }
+        return unique;
+    }
+
+    private static long length(String value) {
+        if (value == null) {
+            return 4;
+        }
+        long bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return 4 + bytes;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private static String lastNameKey(String lastName) {
+        return lastName == null ? null : normalize(lastName);
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Ids followed by record offsets of one collection.
+     */
+    private final class Section {
+
+        private final int count;
+
+        private final int ids;
+
+        private final int offsets;
+
+        private final boolean dense;
+
+        private final long firstId;
+
+        Section(int count, int ids, int offsets) {
+            this.count = count;
+            this.ids = ids;
+            this.offsets = offsets;
+            this.firstId = count == 0 ? 0 : buffer.getLong(ids);
+            this.dense = count == 0 || buffer.getLong(ids + 8 * (count - 1)) - firstId == count - 1;
+        }
+
+        int row(long id) {
+            if (dense) {
+                long row = id - firstId;
+                return row >= 0 && row < count ? (int) row : -1;
+            }
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long candidate = buffer.getLong(ids + 8 * mid);
+                if (candidate < id) {
+                    low = mid + 1;
+                } else if (candidate > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        int offset(int row) {
+            return buffer.getInt(offsets + 4 * row);
+        }
+    }
+
+    private final class MappedUser extends User {
+
+        private final int offset;
+
+        MappedUser(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public Long getId() {
+            return buffer.getLong(offset);
+        }
+
+        @Override
+        public String getEmail() {
+            return stringAt(offset + 8);
+        }
+
+        @Override
+        public String getFirst_name() {
+            return stringAt(skipStrings(offset + 8, 1));
+        }
+
+        @Override
+        public String getLast_name() {
+            return stringAt(skipStrings(offset + 8, 2));
+        }
+
+        @Override
+        public String getAvatar() {
+            return stringAt(skipStrings(offset + 8, 3));
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw new UnsupportedOperationException("snapshot users are read-only");
+        }
+
+        @Override
+        public void setEmail(String email) {
+            throw new UnsupportedOperationException("snapshot users are read-only");
+        }
+
+        @Override
+        public void setFirst_name(String firstName) {
+            throw new UnsupportedOperationException("snapshot users are read-only");
+        }
+
+        @Override
+        public void setLast_name(String lastName) {
+            throw new UnsupportedOperationException("snapshot users are read-only");
+        }
+
+        @Override
+        public void setAvatar(String avatar) {
+            throw new UnsupportedOperationException("snapshot users are read-only");
+        }
+    }
+
+    private final class MappedResource extends Resource {
+
+        private final int offset;
+
+        MappedResource(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public Long getId() {
+            return buffer.getLong(offset);
+        }
+
+        @Override
+        public String getName() {
+            return stringAt(offset + 8);
+        }
+
+        @Override
+        public String getYear() {
+            return stringAt(skipStrings(offset + 8, 1));
+        }
+
+        @Override
+        public String getColor() {
+            return stringAt(skipStrings(offset + 8, 2));
+        }
+
+        @Override
+        public String getPantone_value() {
+            return stringAt(skipStrings(offset + 8, 3));
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw new UnsupportedOperationException("snapshot resources are read-only");
+        }
+
+        @Override
+        public void setName(String name) {
+            throw new UnsupportedOperationException("snapshot resources are read-only");
+        }
+
+        @Override
+        public void setYear(String year) {
+            throw new UnsupportedOperationException("snapshot resources are read-only");
+        }
+
+        @Override
+        public void setColor(String color) {
+            throw new UnsupportedOperationException("snapshot resources are read-only");
+        }
+
+        @Override
+        public void setPantone_value(String pantoneValue) {
+            throw new UnsupportedOperationException("snapshot resources are read-only");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.replica;
+
+import java.util.Arrays;
+
+/**
+ * Strictly increasing ids of a table; the row of an id is found by offset when the ids form one
+ * dense run (the usual case for reqres) and by binary search otherwise.
+ */
+final class SortedIds {
+
+    private final long[] ids;
+
+    private final boolean dense;
+
+    SortedIds(long[] ids) {
+        this.ids = ids;
+        this.dense = ids.length == 0 || ids[ids.length - 1] - ids[0] == ids.length - 1;
+    }
+
+    int row(long id) {
+        if (dense) {
+            long offset = ids.length == 0 ? -1 : id - ids[0];
+            return offset >= 0 && offset < ids.length ? (int) offset : -1;
+        }
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? row : -1;
+    }
+
+    long get(int row) {
+        return ids[row];
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long retainedBytes() {
+        return 8L * ids.length;
+    }
+}
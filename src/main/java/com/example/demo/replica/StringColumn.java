@@ -0,0 +1,70 @@
+package com.example.demo.replica;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Strings of one column packed back to back as UTF-8 in a single {@code byte[]}, addressed by an
+ * offsets array. A row costs its bytes plus four, instead of a {@code String} and its array.
+ */
+final class StringColumn {
+
+    private final byte[] data;
+
+    private final int[] offsets;
+
+    private final BitSet nulls;
+
+    private StringColumn(byte[] data, int[] offsets, BitSet nulls) {
+        this.data = data;
+        this.offsets = offsets;
+        this.nulls = nulls;
+    }
+
+    String get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        return new String(data, offsets[row], offsets[row + 1] - offsets[row], StandardCharsets.UTF_8);
+    }
+
+    long retainedBytes() {
+        return data.length + 4L * offsets.length + nulls.size() / 8;
+    }
+
+    static final class Builder {
+
+        private byte[] data;
+
+        private final int[] offsets;
+
+        private final BitSet nulls = new BitSet();
+
+        private int rows;
+
+        Builder(int capacity) {
+            this.offsets = new int[capacity + 1];
+            this.data = new byte[Math.max(16, capacity * 8)];
+        }
+
+        void add(String value) {
+            int start = offsets[rows];
+            if (value == null) {
+                nulls.set(rows);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (start + bytes.length > data.length) {
+                    data = Arrays.copyOf(data, Math.max(data.length * 2, start + bytes.length));
+                }
+                System.arraycopy(bytes, 0, data, start, bytes.length);
+                start += bytes.length;
+            }
+            offsets[++rows] = start;
+        }
+
+        StringColumn build() {
+            return new StringColumn(Arrays.copyOf(data, offsets[rows]), Arrays.copyOf(offsets, rows + 1), nulls);
+        }
+    }
+}
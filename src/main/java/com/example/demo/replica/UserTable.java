@@ -0,0 +1,275 @@
+package com.example.demo.replica;
+
+import com.example.demo.entity.User;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Column-oriented, read-only users sorted by id. Ids live in a {@code long[]}, emails are split into
+ * a packed local part and a dictionary-encoded domain, names are packed and avatar URLs split
+ * into a dictionary-encoded prefix plus packed file name. Rows are exposed as flyweight
+ * {@link User} views that decode their fields on access, so holding the table retains no
+ * per-user objects at all. Email lookups go through an open-addressing {@code int[]} hash of rows
+ * and last-name lookups through rows sorted by last name.
+ */
+final class UserTable {
+
+    private final SortedIds ids;
+
+    private final StringColumn emailLocal;
+
+    private final DictionaryColumn emailDomain;
+
+    private final StringColumn firstName;
+
+    private final StringColumn lastName;
+
+    private final DictionaryColumn avatarPrefix;
+
+    private final StringColumn avatarFile;
+
+    /**
+     * Row + 1 per slot, 0 for empty; sized to a power of two at least twice the row count. The
+     * key hash is kept beside each slot so mismatching probes never decode an email.
+     */
+    private final int[] emailSlots;
+
+    private final int[] emailHashes;
+
+    private final int emailShift;
+
+    private final int[] rowsByLastName;
+
+    private final List<User> views;
+
+    UserTable(Collection<User> users) {
+        List<User> sorted = new ArrayList<>(users);
+        sorted.removeIf(user -> user.getId() == null);
+        sorted.sort(Comparator.comparing(User::getId));
+        int size = sorted.size();
+        long[] idArray = new long[size];
+        StringColumn.Builder emailLocal = new StringColumn.Builder(size);
+        DictionaryColumn.Builder emailDomain = new DictionaryColumn.Builder(size);
+        StringColumn.Builder firstName = new StringColumn.Builder(size);
+        StringColumn.Builder lastName = new StringColumn.Builder(size);
+        DictionaryColumn.Builder avatarPrefix = new DictionaryColumn.Builder(size);
+        StringColumn.Builder avatarFile = new StringColumn.Builder(size);
+        int rows = 0;
+        for (User user : sorted) {
+            if (rows > 0 && idArray[rows - 1] == user.getId()) {
+                continue;
+            }
+            idArray[rows++] = user.getId();
+            int at = user.getEmail() == null ? -1 : user.getEmail().lastIndexOf('@');
+            emailLocal.add(at < 0 ? user.getEmail() : user.getEmail().substring(0, at));
+            emailDomain.add(at < 0 ? null : user.getEmail().substring(at));
+            firstName.add(user.getFirst_name());
+            lastName.add(user.getLast_name());
+            int slash = user.getAvatar() == null ? -1 : user.getAvatar().lastIndexOf('/');
+            avatarPrefix.add(slash < 0 ? null : user.getAvatar().substring(0, slash + 1));
+            avatarFile.add(slash < 0 ? user.getAvatar() : user.getAvatar().substring(slash + 1));
+        }
+        this.ids = new SortedIds(Arrays.copyOf(idArray, rows));
+        this.emailLocal = emailLocal.build();
+        this.emailDomain = emailDomain.build();
+        this.firstName = firstName.build();
+        this.lastName = lastName.build();
+        this.avatarPrefix = avatarPrefix.build();
+        this.avatarFile = avatarFile.build();
+        int slots = Integer.highestOneBit(Math.max(1, rows) * 2 - 1) << 1;
+        this.emailSlots = new int[slots];
+        this.emailHashes = new int[slots];
+        this.emailShift = 64 - Integer.numberOfTrailingZeros(slots);
+        for (int row = 0; row < rows; row++) {
+            String email = email(row);
+            if (email != null) {
+                int hash = normalize(email).hashCode();
+                int slot = slot(hash);
+                while (emailSlots[slot] != 0) {
+                    slot = (slot + 1) & (slots - 1);
+                }
+                emailSlots[slot] = row + 1;
+                emailHashes[slot] = hash;
+            }
+        }
+        Integer[] byLastName = new Integer[rows];
+        for (int row = 0; row < rows; row++) {
+            byLastName[row] = row;
+        }
+        Arrays.sort(byLastName, Comparator.comparing(this::lastNameKey, Comparator.nullsLast(Comparator.naturalOrder())));
+        this.rowsByLastName = Arrays.stream(byLastName).mapToInt(Integer::intValue).toArray();
+        this.views = new AbstractList<>() {
+            @Override
+            public User get(int row) {
+                return view(row);
+            }
+
+            @Override
+            public int size() {
+                return ids.size();
+            }
+        };
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    User user(long id) {
+        int row = ids.row(id);
+        return row < 0 ? null : view(row);
+    }
+
+    User userByEmail(String email) {
+        String key = normalize(email);
+        int hash = key.hashCode();
+        int slot = slot(hash);
+        for (int candidate; (candidate = emailSlots[slot]) != 0; slot = (slot + 1) & (emailSlots.length - 1)) {
+            if (emailHashes[slot] == hash && key.equals(normalize(email(candidate - 1)))) {
+                return view(candidate - 1);
+            }
+        }
+        return null;
+    }
+
+    List<User> usersByLastName(String name) {
+        String key = normalize(name);
+        int low = 0;
+        int high = rowsByLastName.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            String candidate = lastNameKey(rowsByLastName[mid]);
+            if (candidate != null && candidate.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<User> matches = new ArrayList<>(1);
+        for (int i = low; i < rowsByLastName.length && key.equals(lastNameKey(rowsByLastName[i])); i++) {
+            matches.add(view(rowsByLastName[i]));
+        }
+        matches.sort(Comparator.comparing(User::getId));
+        return matches;
+    }
+
+    /**
+     * Flyweight views of every row in id order.
+     */
+    List<User> users() {
+        return views;
+    }
+
+    /**
+     * Approximate bytes held by the columns and indexes, excluding the views handed out.
+     */
+    long retainedBytes() {
+        return ids.retainedBytes() + emailLocal.retainedBytes() + emailDomain.retainedBytes()
+                + firstName.retainedBytes() + lastName.retainedBytes() + avatarPrefix.retainedBytes()
+                + avatarFile.retainedBytes() + 8L * emailSlots.length + 4L * rowsByLastName.length;
+    }
+
+    /**
+     * Fibonacci hashing: sequential emails differ in few low bits of {@code String.hashCode}.
+     */
+    private int slot(int hash) {
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> emailShift);
+    }
+
+    private User view(int row) {
+        return new UserView(this, row);
+    }
+
+    private String email(int row) {
+        String local = emailLocal.get(row);
+        String domain = emailDomain.get(row);
+        return domain == null ? local : local + domain;
+    }
+
+    private String avatar(int row) {
+        String prefix = avatarPrefix.get(row);
+        String file = avatarFile.get(row);
+        return prefix == null ? file : prefix + file;
+    }
+
+    private String lastNameKey(int row) {
+        String name = lastName.get(row);
+        return name == null ? null : normalize(name);
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Read-only {@link User} backed by one table row; equal to a plain {@code User} with the same
+     * values, since Lombok's equals and hashCode go through the getters.
+     */
+    private static final class UserView extends User {
+
+        private final UserTable table;
+
+        private final int row;
+
+        UserView(UserTable table, int row) {
+            this.table = table;
+            this.row = row;
+        }
+
+        @Override
+        public Long getId() {
+            return table.ids.get(row);
+        }
+
+        @Override
+        public String getEmail() {
+            return table.email(row);
+        }
+
+        @Override
+        public String getFirst_name() {
+            return table.firstName.get(row);
+        }
+
+        @Override
+        public String getLast_name() {
+            return table.lastName.get(row);
+        }
+
+        @Override
+        public String getAvatar() {
+            return table.avatar(row);
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw new UnsupportedOperationException("replica users are read-only");
+        }
+
+        @Override
+        public void setEmail(String email) {
+            throw new UnsupportedOperationException("replica users are read-only");
+        }
+
+        @Override
+        public void setFirst_name(String firstName) {
+            throw new UnsupportedOperationException("replica users are read-only");
+        }
+
+        @Override
+        public void setLast_name(String lastName) {
+            throw new UnsupportedOperationException("replica users are read-only");
+        }
+
+        @Override
+        public void setAvatar(String avatar) {
+            throw new UnsupportedOperationException("replica users are read-only");
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package com.example.demo.stub;
+
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.dto.RegistrationRequest;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.Url;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * In-process reqres look-alike on bare Reactor Netty: {@code /api/users}, {@code /api/unknown},
+ * {@code /api/register}, {@code /api/login} and user create/update/patch/delete, served from a
+ * {@link StubDataset}. Requests can be delayed, failed with 500 or throttled with 429 according to
+ * {@link StubSettings}. Routing is a plain switch on the path so the stub stays far cheaper per
+ * request than the client it is exercising.
+ */
+@Slf4j
+public class ReqresStubServer implements AutoCloseable {
+
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes();
+
+    private static final int MAX_CACHED_PAGES = 1024;
+
+    private static final Map<String, String> SUPPORT = Map.of(
+            "url", "https://reqres.in/#support-heading",
+            "text", "To keep ReqRes free, contributions towards server costs are appreciated!");
+
+    private final StubSettings settings;
+
+    private final StubDataset dataset;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private final DisposableServer server;
+
+    /**
+     * Serialized GET pages keyed by dataset version, kind, page and size; cleared when the dataset changes.
+     */
+    private final Map<String, Reply> pages = new ConcurrentHashMap<>();
+
+    private volatile long pagesVersion = -1;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private ReqresStubServer(StubSettings settings, StubDataset dataset) {
+        this.settings = settings;
+        this.dataset = dataset;
+        this.server = HttpServer.create()
+                .host(settings.getHost())
+                .port(settings.getPort())
+                .handle(this::handle)
+                .bindNow();
+        log.info("reqres stub listening on {}", baseUrl());
+    }
+
+    public static ReqresStubServer start(StubSettings settings) {
+        return start(settings, new StubDataset(settings.getUsers(), settings.getResources()));
+    }
+
+    public static ReqresStubServer start(StubSettings settings, StubDataset dataset) {
+        return new ReqresStubServer(settings, dataset);
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    public String baseUrl() {
+        return "http://" + settings.getHost() + ":" + server.port() + "/api/";
+    }
+
+    /**
+     * Endpoint properties pointing at this stub, in the same shape as {@code reqres.*}.
+     */
+    public Url urls() {
+        String base = baseUrl();
+        Url url = new Url();
+        url.setUsersApi(base + "users/");
+        url.setUsersApiWithOffset(base + "users?page=");
+        url.setUsersApiWithOffsetAndLimit(base + "users?page={page}&per_page={per_page}");
+        url.setResourcesApi(base + "unknown/");
+        url.setResourcesApiWithOffsetAndLimit(base + "unknown?page={page}&per_page={per_page}");
+        url.setLoginApi(base + "login");
+        url.setRegistrationApi(base + "register");
+        return url;
+    }
+
+    public StubDataset dataset() {
+        return dataset;
+    }
+
+    /**
+     * Most requests the stub has been working on at once, counted from arrival until the reply
+     * (after any injected delay) is ready to send.
+     */
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        Mono<Reply> reply = request.receive().aggregate().asByteArray()
+                .defaultIfEmpty(new byte[0])
+                .map(body -> injectFault().orElseGet(() -> route(request, body)));
+        Duration delay = delay();
+        Mono<Reply> delayed = delay.isZero() ? reply : reply.delayElement(delay);
+        Mono<Reply> tracked = Mono.using(() -> peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max),
+                ignored -> delayed, ignored -> inFlight.decrementAndGet(), true);
+        return tracked.flatMap(result -> send(request, response, result));
+    }
+
+    private Reply route(HttpServerRequest request, byte[] body) {
+        QueryStringDecoder uri = new QueryStringDecoder(request.uri());
+        String path = uri.path();
+        HttpMethod method = request.method();
+        if (path.equals("/api/users") || path.equals("/api/users/")) {
+            if (method.equals(HttpMethod.GET)) {
+                return page(uri, true);
+            }
+            return method.equals(HttpMethod.POST) ? create(body) : Reply.of(HttpResponseStatus.METHOD_NOT_ALLOWED);
+        }
+        if (path.equals("/api/unknown") || path.equals("/api/unknown/")) {
+            return method.equals(HttpMethod.GET) ? page(uri, false) : Reply.of(HttpResponseStatus.METHOD_NOT_ALLOWED);
+        }
+        if (path.startsWith("/api/users/")) {
+            return user(method, path.substring("/api/users/".length()), body);
+        }
+        if (path.startsWith("/api/unknown/")) {
+            return resource(method, path.substring("/api/unknown/".length()));
+        }
+        if (path.equals("/api/register") && method.equals(HttpMethod.POST)) {
+            return register(body);
+        }
+        if (path.equals("/api/login") && method.equals(HttpMethod.POST)) {
+            return login(body);
+        }
+        return Reply.json(HttpResponseStatus.NOT_FOUND, EMPTY_OBJECT);
+    }
+
+    private Reply page(QueryStringDecoder uri, boolean users) {
+        Map<String, List<String>> query = uri.parameters();
+        String pageParam = first(query, "page");
+        String perPageParam = first(query, "per_page");
+        Integer page = pageParam == null ? Integer.valueOf(1) : positiveInt(pageParam);
+        Integer perPage = perPageParam == null ? Integer.valueOf(settings.getPerPage()) : positiveInt(perPageParam);
+        if ((pageParam != null && page == null && !isNumber(pageParam))
+                || (perPageParam != null && perPage == null)) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Invalid paging parameters");
+        }
+        // reqres answers a numeric but unusable page (negative, fractional) with an empty first page
+        boolean empty = page == null;
+        int current = empty ? 1 : page;
+        long version = dataset.version();
+        if (version != pagesVersion) {
+            pages.clear();
+            pagesVersion = version;
+        }
+        String key = version + (users ? ":users:" : ":unknown:") + (empty ? 0 : current) + ":" + perPage;
+        Reply cached = pages.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        int total = users ? dataset.userTotal() : dataset.resourceTotal();
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("page", current);
+        json.put("per_page", perPage);
+        json.put("total", total);
+        json.put("total_pages", (total + perPage - 1) / perPage);
+        json.put("data", empty ? List.of() : users ? dataset.users(current, perPage) : dataset.resources(current, perPage));
+        json.put("support", SUPPORT);
+        Reply reply = Reply.json(HttpResponseStatus.OK, write(json));
+        if (pages.size() < MAX_CACHED_PAGES) {
+            pages.put(key, reply);
+        }
+        return reply;
+    }
+
+    private Reply user(HttpMethod method, String idParam, byte[] body) {
+        Integer id = positiveInt(idParam);
+        if (id == null) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Invalid id");
+        }
+        if (dataset.user((long) id).isEmpty()) {
+            return Reply.json(HttpResponseStatus.NOT_FOUND, EMPTY_OBJECT);
+        }
+        if (method.equals(HttpMethod.GET)) {
+            return Reply.json(HttpResponseStatus.OK, write(Map.of("data", dataset.user((long) id).get(), "support", SUPPORT)));
+        }
+        if (method.equals(HttpMethod.PUT) || method.equals(HttpMethod.PATCH)) {
+            NewUserRequestDto update = read(body, NewUserRequestDto.class);
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("name", update == null ? null : update.getName());
+            json.put("job", update == null ? null : update.getJob());
+            json.put("updatedAt", Instant.now().toString());
+            return Reply.json(HttpResponseStatus.OK, write(json));
+        }
+        if (method.equals(HttpMethod.DELETE)) {
+            dataset.deleteUser(id);
+            return Reply.of(HttpResponseStatus.NO_CONTENT);
+        }
+        return Reply.of(HttpResponseStatus.METHOD_NOT_ALLOWED);
+    }
+
+    private Reply resource(HttpMethod method, String idParam) {
+        if (!method.equals(HttpMethod.GET)) {
+            return Reply.of(HttpResponseStatus.METHOD_NOT_ALLOWED);
+        }
+        Integer id = positiveInt(idParam);
+        if (id == null) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Invalid id");
+        }
+        return dataset.resource((long) id)
+                .map(resource -> Reply.json(HttpResponseStatus.OK, write(Map.of("data", resource, "support", SUPPORT))))
+                .orElseGet(() -> Reply.json(HttpResponseStatus.NOT_FOUND, EMPTY_OBJECT));
+    }
+
+    private Reply create(byte[] body) {
+        NewUserRequestDto request = read(body, NewUserRequestDto.class);
+        if (request == null || (request.getName() == null && request.getJob() == null)) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Missing name or job");
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", request.getName());
+        json.put("job", request.getJob());
+        json.put("id", Long.toString(dataset.createUser(request.getName())));
+        json.put("createdAt", Instant.now().toString());
+        return Reply.json(HttpResponseStatus.CREATED, write(json));
+    }
+
+    private Reply register(byte[] body) {
+        RegistrationRequest request = read(body, RegistrationRequest.class);
+        if (request == null || (request.getEmail() == null && request.getUsername() == null)) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Missing email or username");
+        }
+        if (request.getPassword() == null) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Missing password");
+        }
+        return dataset.userByEmail(request.getEmail())
+                .map(user -> {
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    json.put("id", user.getId());
+                    json.put("token", token());
+                    return Reply.json(HttpResponseStatus.OK, write(json));
+                })
+                .orElseGet(() -> error(HttpResponseStatus.BAD_REQUEST, "Note: Only defined users succeed registration"));
+    }
+
+    private Reply login(byte[] body) {
+        RegistrationRequest request = read(body, RegistrationRequest.class);
+        if (request == null || (request.getEmail() == null && request.getUsername() == null)) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Missing email or username");
+        }
+        if (request.getPassword() == null) {
+            return error(HttpResponseStatus.BAD_REQUEST, "Missing password");
+        }
+        return dataset.userByEmail(request.getEmail())
+                .map(user -> Reply.json(HttpResponseStatus.OK, write(Map.of("token", token()))))
+                .orElseGet(() -> error(HttpResponseStatus.BAD_REQUEST, "user not found"));
+    }
+
+    private Optional<Reply> injectFault() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < settings.getThrottleRate()) {
+            return Optional.of(error(HttpResponseStatus.TOO_MANY_REQUESTS, "Too many requests"));
+        }
+        if (roll < settings.getThrottleRate() + settings.getErrorRate()) {
+            return Optional.of(error(HttpResponseStatus.INTERNAL_SERVER_ERROR, "Injected failure"));
+        }
+        return Optional.empty();
+    }
+
+    private Duration delay() {
+        long base = settings.getLatency().toNanos();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (settings.getLatencyDistribution()) {
+            case NONE -> Duration.ZERO;
+            case FIXED -> settings.getLatency();
+            case UNIFORM -> Duration.ofNanos(base + (long) (random.nextDouble() * settings.getLatencyJitter().toNanos()));
+            case EXPONENTIAL -> Duration.ofNanos((long) (-base * Math.log(1 - random.nextDouble())));
+        };
+    }
+
+    private Mono<Void> send(HttpServerRequest request, HttpServerResponse response, Reply reply) {
+        response.status(reply.status);
+        if (reply.body == null) {
+            return response.send();
+        }
+        if (reply.status == HttpResponseStatus.OK && request.method().equals(HttpMethod.GET)) {
+            Instant modified = lastModified();
+            response.header("ETag", reply.etag)
+                    .header("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(modified.atOffset(ZoneOffset.UTC)))
+                    .header("Cache-Control", "max-age=14400");
+            // If-None-Match wins over If-Modified-Since when both are sent (RFC 9110, 13.2.2)
+            String ifNoneMatch = request.requestHeaders().get("If-None-Match");
+            boolean notModified = ifNoneMatch != null
+                    ? reply.etag.equals(ifNoneMatch)
+                    : notModifiedSince(request.requestHeaders().get("If-Modified-Since"), modified);
+            if (notModified) {
+                return response.status(HttpResponseStatus.NOT_MODIFIED).send();
+            }
+        }
+        String accept = request.requestHeaders().get("Accept");
+        response.header("Vary", "Accept");
+        if (accept != null && accept.contains("application/x-jackson-smile")) {
+            // bodies are built as JSON; clients that prefer Smile get the same tree re-encoded
+            return response.header("Content-Type", "application/x-jackson-smile")
+                    .sendByteArray(Mono.fromCallable(() -> smileMapper.writeValueAsBytes(objectMapper.readTree(reply.body))))
+                    .then();
+        }
+        return response.header("Content-Type", "application/json; charset=utf-8")
+                .sendByteArray(Mono.just(reply.body))
+                .then();
+    }
+
+    private Instant lastModified() {
+        // a stable pseudo-timestamp per dataset version keeps If-Modified-Since meaningful
+        return Instant.ofEpochSecond(1_600_000_000L + dataset.version());
+    }
+
+    private static boolean notModifiedSince(String ifModifiedSince, Instant modified) {
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            return !modified.isAfter(Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(ifModifiedSince)));
+        } catch (DateTimeParseException e) {
+            // an unparseable date is ignored, as if the header had not been sent
+            return false;
+        }
+    }
+
+    private Reply error(HttpResponseStatus status, String message) {
+        return Reply.json(status, write(Map.of("error", message)));
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String token() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toString(random.nextLong(Long.MAX_VALUE), 36) + Long.toString(random.nextLong(Long.MAX_VALUE), 36);
+    }
+
+    private static String etag(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + body.length + "\"";
+    }
+
+    private static String first(Map<String, List<String>> query, String name) {
+        List<String> values = query.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static Integer positiveInt(String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            return parsed > 0 ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static final class Reply {
+
+        private final HttpResponseStatus status;
+
+        private final byte[] body;
+
+        private final String etag;
+
+        private Reply(HttpResponseStatus status, byte[] body) {
+            this.status = status;
+            this.body = body;
+            this.etag = body == null ? null : etag(body);
+        }
+
+        static Reply of(HttpResponseStatus status) {
+            return new Reply(status, null);
+        }
+
+        static Reply json(HttpResponseStatus status, byte[] body) {
+            return new Reply(status, body);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.demo.stub;
+
+import com.example.demo.entity.Resource;
+import com.example.demo.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable in-memory users and resources served by {@link ReqresStubServer}. The first twelve of
+ * each are the records reqres.in serves; larger datasets are padded with generated records.
+ */
+public class StubDataset {
+
+    private static final String[][] USERS = {
+            {"george.bluth", "George", "Bluth"}, {"janet.weaver", "Janet", "Weaver"},
+            {"emma.wong", "Emma", "Wong"}, {"eve.holt", "Eve", "Holt"},
+            {"charles.morris", "Charles", "Morris"}, {"tracey.ramos", "Tracey", "Ramos"},
+            {"michael.lawson", "Michael", "Lawson"}, {"lindsay.ferguson", "Lindsay", "Ferguson"},
+            {"tobias.funke", "Tobias", "Funke"}, {"byron.fields", "Byron", "Fields"},
+            {"george.edwards", "George", "Edwards"}, {"rachel.howell", "Rachel", "Howell"}};
+
+    private static final String[][] RESOURCES = {
+            {"cerulean", "#98B2D1", "15-4020"}, {"fuchsia rose", "#C74375", "17-2031"},
+            {"true red", "#BF1932", "19-1664"}, {"aqua sky", "#7BC4C4", "14-4811"},
+            {"tigerlily", "#E2583E", "17-1456"}, {"blue turquoise", "#53B0AE", "15-5217"},
+            {"sand dollar", "#DECDBE", "13-1106"}, {"chili pepper", "#9B1B30", "19-1557"},
+            {"blue iris", "#5A5B9F", "18-3943"}, {"mimosa", "#F0C05A", "14-0848"},
+            {"turquoise", "#45B5AA", "15-5519"}, {"honeysuckle", "#D94F70", "18-2120"}};
+
+    private final int userCount;
+
+    private final int resourceCount;
+
+    private final NavigableMap<Long, User> users = new ConcurrentSkipListMap<>();
+
+    private final NavigableMap<Long, Resource> resources = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Long> emails = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final AtomicLong version = new AtomicLong();
+
+    public StubDataset(int userCount, int resourceCount) {
+        this.userCount = userCount;
+        this.resourceCount = resourceCount;
+        populate();
+    }
+
+    public static StubDataset reqres() {
+        return new StubDataset(USERS.length, RESOURCES.length);
+    }
+
+    /**
+     * Restores the generated records, undoing every delete made since construction.
+     */
+    public void reset() {
+        populate();
+    }
+
+    private void populate() {
+        users.clear();
+        resources.clear();
+        emails.clear();
+        for (long id = 1; id <= userCount; id++) {
+            User user = user(id);
+            users.put(id, user);
+            emails.put(user.getEmail(), id);
+        }
+        for (long id = 1; id <= resourceCount; id++) {
+            resources.put(id, resource(id));
+        }
+        nextId.set(Math.max(userCount, resourceCount) + 1L);
+        version.incrementAndGet();
+    }
+
+    public Optional<User> user(Long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    public Optional<User> userByEmail(String email) {
+        Long id = email == null ? null : emails.get(email);
+        return id == null ? Optional.empty() : user(id);
+    }
+
+    public Optional<Resource> resource(Long id) {
+        return Optional.ofNullable(resources.get(id));
+    }
+
+    public List<User> users(int page, int perPage) {
+        return slice(users, page, perPage);
+    }
+
+    public List<Resource> resources(int page, int perPage) {
+        return slice(resources, page, perPage);
+    }
+
+    public int userTotal() {
+        return users.size();
+    }
+
+    public int resourceTotal() {
+        return resources.size();
+    }
+
+    public boolean deleteUser(long id) {
+        User removed = users.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        emails.remove(removed.getEmail(), id);
+        version.incrementAndGet();
+        return true;
+    }
+
+    public long nextId() {
+        return nextId.getAndIncrement();
+    }
+
+    /**
+     * Stores a created user under a fresh id so that later reads and deletes of it succeed.
+     */
+    public long createUser(String name) {
+        long id = nextId();
+        User user = user(id);
+        if (name != null) {
+            user.setFirst_name(name);
+        }
+        users.put(id, user);
+        emails.put(user.getEmail(), id);
+        version.incrementAndGet();
+        return id;
+    }
+
+    /**
+     * Bumped on every mutation; used to derive Last-Modified.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    private static <T> List<T> slice(NavigableMap<Long, T> records, int page, int perPage) {
+        List<T> slice = new ArrayList<>(perPage);
+        long skip = (long) (page - 1) * perPage;
+        if (records.isEmpty() || skip >= records.size()) {
+            return slice;
+        }
+        Map<Long, T> window = records;
+        long first = records.firstKey();
+        if (records.lastKey() - first + 1 == records.size()) {
+            // no gaps in the ids: jump straight to the page instead of walking past earlier ones
+            window = records.tailMap(first + skip, true);
+            skip = 0;
+        }
+        for (T record : window.values()) {
+            if (skip-- > 0) {
+                continue;
+            }
+            if (slice.size() == perPage) {
+                break;
+            }
+            slice.add(record);
+        }
+        return slice;
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        if (id <= USERS.length) {
+            String[] known = USERS[(int) id - 1];
+            user.setEmail(known[0] + "@reqres.in");
+            user.setFirst_name(known[1]);
+            user.setLast_name(known[2]);
+        } else {
+            user.setEmail("user" + id + "@reqres.in");
+            user.setFirst_name("First" + id);
+            user.setLast_name("Last" + id);
+        }
+        user.setAvatar("https://reqres.in/img/faces/" + id + "-image.jpg");
+        return user;
+    }
+
+    private static Resource resource(long id) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        String[] known = RESOURCES[(int) ((id - 1) % RESOURCES.length)];
+        resource.setName(id <= RESOURCES.length ? known[0] : known[0] + " " + id);
+        resource.setYear(Long.toString(1999 + id));
+        resource.setColor(known[1]);
+        resource.setPantone_value(known[2]);
+        return resource;
+    }
+}
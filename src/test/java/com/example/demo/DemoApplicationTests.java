@@ -5,80 +5,79 @@ import com.example.demo.entity.*;
 import com.example.demo.entity.ResourceDto;
 import com.google.common.collect.Ordering;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.mockwebserver.MockWebServer;
-import org.junit.jupiter.api.BeforeAll;
+import com.example.demo.stub.ReqresStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
-import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 
-import java.io.IOException;
 import java.util.Objects;
 
+/**
+ * Scenarios run concurrently (see junit-platform.properties). Each test gets its own stub server
+ * and dataset, so deletes and creates in one scenario are invisible to the others, and the shared
+ * context only provides the production {@link WebClient}; no server is started for it.
+ */
 @Slf4j
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 class DemoApplicationTests {
 
     @Autowired
-    private Url reqresProperties;
+    private WebClient webClient;
 
-    @Autowired
-    private WebTestClient webClient;
+    private ReqresStubServer stub;
 
-    private static MockWebServer mockWebServer;
+    private Url reqresProperties;
 
-    @DynamicPropertySource
-    static void registerProperties(DynamicPropertyRegistry registry) {
-        registry.add("reqres-api.base-url", () -> mockWebServer.url("/").url().toString());
+    @BeforeEach
+    void startStub() {
+        stub = ReqresStubServer.start(new StubSettings());
+        reqresProperties = stub.urls();
     }
 
-    @BeforeAll
-    static void setupMockWebServer() throws IOException {
-        mockWebServer = new MockWebServer();
-        mockWebServer.start();
+    @AfterEach
+    void stopStub() {
+        stub.close();
     }
 
 
     @Test
     void isUserExist() {
 
-        UserDto userDto = new UserDto();
         int realId = 2;
         double invalidId = -10000.0;
         int incorrectId = 100000;
 
         // get existed user
-        webClient.get().uri(reqresProperties.getUsersApi() + realId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(UserDto.class)
-                .consumeWith(response -> {
-                    userDto.setData(Objects.requireNonNull(response.getResponseBody()).getData());
-                    userDto.setSupport(response.getResponseBody().getSupport());
-                });
-        log.info(userDto + " - user information");
-        assertThat(userDto.getData()).isNotNull();
-        assertThat(userDto.getSupport()).isNotNull();
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApi() + realId), UserDto.class))
+                .assertNext(response -> {
+                    UserDto userDto = Objects.requireNonNull(response.getBody());
+                    log.info(userDto + " - user information");
+                    assertThat(userDto.getData()).isNotNull();
+                    assertThat(userDto.getSupport()).isNotNull();
+                })
+                .verifyComplete();
 
         // get user by invalid id
-        webClient.get().uri(reqresProperties.getUsersApi() + invalidId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isBadRequest();
+        StepVerifier.create(status(webClient.get().uri(reqresProperties.getUsersApi() + invalidId)))
+                .expectNext(HttpStatus.BAD_REQUEST)
+                .verifyComplete();
 
 
         // get user that not exist
-        webClient.get().uri(reqresProperties.getUsersApi() + incorrectId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isNotFound();
+        StepVerifier.create(status(webClient.get().uri(reqresProperties.getUsersApi() + incorrectId)))
+                .expectNext(HttpStatus.NOT_FOUND)
+                .verifyComplete();
 
     }
 
@@ -88,84 +87,59 @@ class DemoApplicationTests {
     @Test
     void isListOfUsersTests() {
 
-        UsersDto usersDto = new UsersDto();
         int pageNumber = 2;
         int perPageNumber = 5;
         double invalidPage = -100000.0;
         String incorrectData = "@#$!&*)+";
 
         // get list of users with valid offset number
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + pageNumber)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(UsersDto.class)
-                .consumeWith(response -> {
-                    usersDto.setData(Objects.requireNonNull(response.getResponseBody()).getData());
-                    usersDto.setPage(response.getResponseBody().getPage());
-                    usersDto.setPer_page(response.getResponseBody().getPer_page());
-                    usersDto.setTotal(response.getResponseBody().getTotal());
-                    usersDto.setTotal_pages(response.getResponseBody().getTotal_pages());
-
-                });
-        log.info(usersDto + " - user information");
-        assertThat(usersDto.getData()).isNotNull();
-        assertThat(usersDto.getPage()).isEqualTo(pageNumber);
-        assertThat(usersDto.getPer_page()).isNotNull();
-        assertThat(usersDto.getTotal()).isNotNull();
-        assertThat(usersDto.getTotal_pages()).isNotNull();
-        assertThat(usersDto.getData().size()).isGreaterThan(0);
-        // checking ordering
-        assertThat(Ordering.natural().isOrdered(usersDto)).isTrue();
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffset() + pageNumber), UsersDto.class))
+                .assertNext(response -> {
+                    UsersDto usersDto = Objects.requireNonNull(response.getBody());
+                    log.info(usersDto + " - user information");
+                    assertThat(usersDto.getData()).isNotNull();
+                    assertThat(usersDto.getPage()).isEqualTo(pageNumber);
+                    assertThat(usersDto.getPer_page()).isNotNull();
+                    assertThat(usersDto.getTotal()).isNotNull();
+                    assertThat(usersDto.getTotal_pages()).isNotNull();
+                    assertThat(usersDto.getData().size()).isGreaterThan(0);
+                    // checking ordering
+                    assertThat(Ordering.natural().isOrdered(usersDto)).isTrue();
+                })
+                .verifyComplete();
 
         // get list of users with invalid offset number
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + invalidPage)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(UsersDto.class)
-                .consumeWith(response -> {
-                    assertThat(Objects.requireNonNull(response.getResponseBody()).getData().size()).isEqualTo(0);
-                });
-
-        // offset with negative number should return 1 page
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + invalidPage)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(UsersDto.class)
-                .consumeWith(response -> {
-                    assertThat(Objects.requireNonNull(response.getResponseBody()).getPage()).isEqualTo(1);
-                });
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffset() + invalidPage), UsersDto.class))
+                .assertNext(response -> {
+                    UsersDto usersDto = Objects.requireNonNull(response.getBody());
+                    assertThat(usersDto.getData().size()).isEqualTo(0);
+                    // offset with negative number should return 1 page
+                    assertThat(usersDto.getPage()).isEqualTo(1);
+                })
+                .verifyComplete();
 
         // request with incorrect data should return response with 400 status and
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + incorrectData)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isBadRequest()
-                .expectBody(String.class)
-                .consumeWith(response -> {
-                    assertThat(Objects.requireNonNull(response.getResponseBody())).isNotEmpty();
-                });
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffset() + incorrectData), String.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(Objects.requireNonNull(response.getBody())).isNotEmpty();
+                })
+                .verifyComplete();
 
         // request with offset and limit
-        webClient.get().uri(reqresProperties.getUsersApiWithOffsetAndLimit(), pageNumber,  perPageNumber )
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(UsersDto.class)
-                .consumeWith(response -> {
-                    usersDto.setData(Objects.requireNonNull(response.getResponseBody()).getData());
-                    usersDto.setPage(response.getResponseBody().getPage());
-                    usersDto.setPer_page(response.getResponseBody().getPer_page());
-                    usersDto.setTotal(response.getResponseBody().getTotal());
-                    usersDto.setTotal_pages(response.getResponseBody().getTotal_pages());
-
-                });
-        log.info(usersDto + " - user information");
-        assertThat(usersDto.getData()).isNotNull();
-        assertThat(usersDto.getPage()).isEqualTo(pageNumber);
-        assertThat(usersDto.getPer_page()).isNotNull();
-        assertThat(usersDto.getTotal()).isNotNull();
-        assertThat(usersDto.getTotal_pages()).isNotNull();
-        assertThat(usersDto.getPer_page()).isEqualTo(perPageNumber);
-        assertThat(usersDto.getData().size()).isEqualTo(perPageNumber);
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffsetAndLimit(), pageNumber, perPageNumber), UsersDto.class))
+                .assertNext(response -> {
+                    UsersDto usersDto = Objects.requireNonNull(response.getBody());
+                    log.info(usersDto + " - user information");
+                    assertThat(usersDto.getData()).isNotNull();
+                    assertThat(usersDto.getPage()).isEqualTo(pageNumber);
+                    assertThat(usersDto.getPer_page()).isNotNull();
+                    assertThat(usersDto.getTotal()).isNotNull();
+                    assertThat(usersDto.getTotal_pages()).isNotNull();
+                    assertThat(usersDto.getPer_page()).isEqualTo(perPageNumber);
+                    assertThat(usersDto.getData().size()).isEqualTo(perPageNumber);
+                })
+                .verifyComplete();
 
 
     }
@@ -174,36 +148,30 @@ class DemoApplicationTests {
     @Test
     void isResourceExist() {
 
-        ResourceDto resourceDto = new ResourceDto();
         int realId = 2;
         double invalidId = -10000.0;
         int incorrectId = 100000;
 
         // get existed user
-        webClient.get().uri(reqresProperties.getUsersApi() + realId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(ResourceDto.class)
-                .consumeWith(response -> {
-                    resourceDto.setData(Objects.requireNonNull(response.getResponseBody()).getData());
-                    resourceDto.setSupport(response.getResponseBody().getSupport());
-                });
-        log.info(resourceDto + " - resource information");
-        assertThat(resourceDto.getData()).isNotNull();
-        assertThat(resourceDto.getSupport()).isNotNull();
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApi() + realId), ResourceDto.class))
+                .assertNext(response -> {
+                    ResourceDto resourceDto = Objects.requireNonNull(response.getBody());
+                    log.info(resourceDto + " - resource information");
+                    assertThat(resourceDto.getData()).isNotNull();
+                    assertThat(resourceDto.getSupport()).isNotNull();
+                })
+                .verifyComplete();
 
         // get user by invalid id
-        webClient.get().uri(reqresProperties.getUsersApi() + invalidId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isBadRequest();
+        StepVerifier.create(status(webClient.get().uri(reqresProperties.getUsersApi() + invalidId)))
+                .expectNext(HttpStatus.BAD_REQUEST)
+                .verifyComplete();
 
 
         // get user that not exist
-        webClient.get().uri(reqresProperties.getUsersApi() + incorrectId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isNotFound();
+        StepVerifier.create(status(webClient.get().uri(reqresProperties.getUsersApi() + incorrectId)))
+                .expectNext(HttpStatus.NOT_FOUND)
+                .verifyComplete();
 
     }
 
@@ -213,82 +181,57 @@ class DemoApplicationTests {
     @Test
     void isListOfResourceTests() {
 
-        ResourcesDto resourceDto = new ResourcesDto();
         int pageNumber = 2;
         int perPageNumber = 5;
         double invalidPage = -100000.0;
         String incorrectData = "@#$!&*)+";
 
         // get list of users with valid offset number
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + pageNumber)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(ResourcesDto.class)
-                .consumeWith(response -> {
-                    resourceDto.setData(Objects.requireNonNull(response.getResponseBody()).getData());
-                    resourceDto.setPage(response.getResponseBody().getPage());
-                    resourceDto.setPer_page(response.getResponseBody().getPer_page());
-                    resourceDto.setTotal(response.getResponseBody().getTotal());
-                    resourceDto.setTotal_pages(response.getResponseBody().getTotal_pages());
-
-                });
-        log.info(resourceDto + " - resource information");
-        assertThat(resourceDto.getData()).isNotNull();
-        assertThat(resourceDto.getPage()).isEqualTo(pageNumber);
-        assertThat(resourceDto.getPer_page()).isNotNull();
-        assertThat(resourceDto.getTotal()).isNotNull();
-        assertThat(resourceDto.getTotal_pages()).isNotNull();
-        assertThat(resourceDto.getData().size()).isGreaterThan(0);
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffset() + pageNumber), ResourcesDto.class))
+                .assertNext(response -> {
+                    ResourcesDto resourceDto = Objects.requireNonNull(response.getBody());
+                    log.info(resourceDto + " - resource information");
+                    assertThat(resourceDto.getData()).isNotNull();
+                    assertThat(resourceDto.getPage()).isEqualTo(pageNumber);
+                    assertThat(resourceDto.getPer_page()).isNotNull();
+                    assertThat(resourceDto.getTotal()).isNotNull();
+                    assertThat(resourceDto.getTotal_pages()).isNotNull();
+                    assertThat(resourceDto.getData().size()).isGreaterThan(0);
+                })
+                .verifyComplete();
 
         // get list of users with invalid offset number
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + invalidPage)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(ResourcesDto.class)
-                .consumeWith(response -> {
-                    assertThat(Objects.requireNonNull(response.getResponseBody()).getData().size()).isEqualTo(0);
-                });
-
-        // offset with negative number should return 1 page
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + invalidPage)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(ResourcesDto.class)
-                .consumeWith(response -> {
-                    assertThat(Objects.requireNonNull(response.getResponseBody()).getPage()).isEqualTo(1);
-                });
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffset() + invalidPage), ResourcesDto.class))
+                .assertNext(response -> {
+                    ResourcesDto resourceDto = Objects.requireNonNull(response.getBody());
+                    assertThat(resourceDto.getData().size()).isEqualTo(0);
+                    // offset with negative number should return 1 page
+                    assertThat(resourceDto.getPage()).isEqualTo(1);
+                })
+                .verifyComplete();
 
         // request with incorrect data should return response with 400 status and
-        webClient.get().uri(reqresProperties.getUsersApiWithOffset() + incorrectData)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isBadRequest()
-                .expectBody(String.class)
-                .consumeWith(response -> {
-                    assertThat(Objects.requireNonNull(response.getResponseBody())).isNotEmpty();
-                });
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffset() + incorrectData), String.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(Objects.requireNonNull(response.getBody())).isNotEmpty();
+                })
+                .verifyComplete();
 
         // request with offset and limit
-        webClient.get().uri(reqresProperties.getUsersApiWithOffsetAndLimit(), pageNumber,  perPageNumber )
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectBody(ResourcesDto.class)
-                .consumeWith(response -> {
-                    resourceDto.setData(Objects.requireNonNull(response.getResponseBody()).getData());
-                    resourceDto.setPage(response.getResponseBody().getPage());
-                    resourceDto.setPer_page(response.getResponseBody().getPer_page());
-                    resourceDto.setTotal(response.getResponseBody().getTotal());
-                    resourceDto.setTotal_pages(response.getResponseBody().getTotal_pages());
-
-                });
-        log.info(resourceDto + " - resource information");
-        assertThat(resourceDto.getData()).isNotNull();
-        assertThat(resourceDto.getPage()).isEqualTo(pageNumber);
-        assertThat(resourceDto.getPer_page()).isNotNull();
-        assertThat(resourceDto.getTotal()).isNotNull();
-        assertThat(resourceDto.getTotal_pages()).isNotNull();
-        assertThat(resourceDto.getPer_page()).isEqualTo(perPageNumber);
-        assertThat(resourceDto.getData().size()).isGreaterThan(0);
+        StepVerifier.create(exchange(webClient.get().uri(reqresProperties.getUsersApiWithOffsetAndLimit(), pageNumber, perPageNumber), ResourcesDto.class))
+                .assertNext(response -> {
+                    ResourcesDto resourceDto = Objects.requireNonNull(response.getBody());
+                    log.info(resourceDto + " - resource information");
+                    assertThat(resourceDto.getData()).isNotNull();
+                    assertThat(resourceDto.getPage()).isEqualTo(pageNumber);
+                    assertThat(resourceDto.getPer_page()).isNotNull();
+                    assertThat(resourceDto.getTotal()).isNotNull();
+                    assertThat(resourceDto.getTotal_pages()).isNotNull();
+                    assertThat(resourceDto.getPer_page()).isEqualTo(perPageNumber);
+                    assertThat(resourceDto.getData().size()).isGreaterThan(0);
+                })
+                .verifyComplete();
 
     }
 
@@ -298,15 +241,10 @@ class DemoApplicationTests {
 
         // create with correct data
         NewUserRequestDto newUserRequestDto = NewUserRequestDto.builder().name("Billy").job("Marketing").build();
-        webClient.post().uri(reqresProperties.getUsersApi())
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(newUserRequestDto), NewUserRequestDto.class)
-                .exchange()
-                .expectStatus().isCreated()
-                .expectBody(NewUserResponseDto.class)
-                .consumeWith(result -> {
-                    NewUserResponseDto newUserResponseDto = result.getResponseBody();
-                    assert newUserResponseDto != null;
+        StepVerifier.create(exchange(webClient.post().uri(reqresProperties.getUsersApi()).bodyValue(newUserRequestDto), NewUserResponseDto.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                    NewUserResponseDto newUserResponseDto = Objects.requireNonNull(response.getBody());
                     assertThat(newUserResponseDto.getName()).isEqualTo(newUserRequestDto.getName());
                     assertThat(newUserResponseDto.getId()).isInstanceOf(String.class);
                     assertThat(newUserResponseDto.getId()).isNotNull();
@@ -314,20 +252,18 @@ class DemoApplicationTests {
                     assertThat(newUserResponseDto.getCreatedAt()).isInstanceOf(String.class);
                     assertThat(newUserResponseDto.getCreatedAt()).isNotEmpty();
                     log.info(newUserResponseDto + " - new user creation response");
-                });
+                })
+                .verifyComplete();
 
         // request without any data
-        LoginErrorDto loginErrorDto = new LoginErrorDto();
-        webClient.post().uri(reqresProperties.getUsersApi())
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isBadRequest()
-                .expectBody(LoginErrorDto.class)
-                .consumeWith(response -> {
-                    loginErrorDto.setError(Objects.requireNonNull(response.getResponseBody()).getError());
-                });
-        log.info(loginErrorDto.getError() + " - error message");
-        assertThat(loginErrorDto.getError()).isNotEmpty();
+        StepVerifier.create(exchange(webClient.post().uri(reqresProperties.getUsersApi()), LoginErrorDto.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    LoginErrorDto loginErrorDto = Objects.requireNonNull(response.getBody());
+                    log.info(loginErrorDto.getError() + " - error message");
+                    assertThat(loginErrorDto.getError()).isNotEmpty();
+                })
+                .verifyComplete();
     }
 
     @Test
@@ -335,68 +271,52 @@ class DemoApplicationTests {
 
         // POST request with correct full data
         RegistrationRequest registrationRequestFull = RegistrationRequest.builder().email("eve.holt@reqres.in").password("12345").username("eve_ice").build();
-        webClient.post().uri(reqresProperties.getRegistrationBaseUrl())
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(registrationRequestFull), RegistrationRequest.class)
-                .exchange()
-                .expectStatus().isOk()
-                .expectBody(RegistrationResponse.class)
-                .consumeWith(result -> {
-                    RegistrationResponse registrationResponse = result.getResponseBody();
-                    assert registrationResponse != null;
+        StepVerifier.create(exchange(webClient.post().uri(reqresProperties.getRegistrationApi()).bodyValue(registrationRequestFull), RegistrationResponse.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    RegistrationResponse registrationResponse = Objects.requireNonNull(response.getBody());
                     assertThat(registrationResponse.getToken()).isNotEmpty();
                     assertThat(registrationResponse.getId()).isInstanceOf(Long.class);
                     assertThat(registrationResponse.getId()).isNotNull();
                     log.info(registrationResponse + " - registration response with full data");
-                });
+                })
+                .verifyComplete();
 
         // POST request with correct required data
         RegistrationRequest registrationRequest = RegistrationRequest.builder().email("eve.holt@reqres.in").password("12345").build();
-        webClient.post().uri(reqresProperties.getRegistrationBaseUrl())
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(registrationRequest), RegistrationRequest.class)
-                .exchange()
-                .expectStatus().isOk()
-                .expectBody(RegistrationResponse.class)
-                .consumeWith(result -> {
-                    RegistrationResponse registrationResponse = result.getResponseBody();
-                    assert registrationResponse != null;
+        StepVerifier.create(exchange(webClient.post().uri(reqresProperties.getRegistrationApi()).bodyValue(registrationRequest), RegistrationResponse.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    RegistrationResponse registrationResponse = Objects.requireNonNull(response.getBody());
                     assertThat(registrationResponse.getToken()).isNotEmpty();
                     assertThat(registrationResponse.getId()).isInstanceOf(Long.class);
                     assertThat(registrationResponse.getId()).isNotNull();
                     log.info(registrationResponse + " - registration response with required data");
-                });
+                })
+                .verifyComplete();
 
         // POST request with user that not exist is system
         RegistrationRequest unknownUserRegistrationRequest = RegistrationRequest.builder().email("Norbert").password("12345").build();
-        webClient.post().uri(reqresProperties.getRegistrationBaseUrl())
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(unknownUserRegistrationRequest), RegistrationRequest.class)
-                .exchange()
-                .expectStatus().isBadRequest()
-                .expectBody(RegistrationError.class)
-                .consumeWith(result -> {
-                    RegistrationError registrationResponse = result.getResponseBody();
-                    assert registrationResponse != null;
+        StepVerifier.create(exchange(webClient.post().uri(reqresProperties.getRegistrationApi()).bodyValue(unknownUserRegistrationRequest), RegistrationError.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    RegistrationError registrationResponse = Objects.requireNonNull(response.getBody());
                     assertThat(registrationResponse.getError()).isInstanceOf(String.class);
                     assertThat(registrationResponse.getError()).isEqualTo("Note: Only defined users succeed registration");
                     log.info(registrationResponse.getError() + " - registration error response");
-                });
+                })
+                .verifyComplete();
 
         // POST data without data at all
         RegistrationRequest emptyRegistrationRequest = new RegistrationRequest();
-        webClient.post().uri(reqresProperties.getRegistrationBaseUrl())
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(emptyRegistrationRequest), RegistrationRequest.class)
-                .exchange()
-                .expectStatus().isBadRequest()
-                .expectBody(RegistrationError.class)
-                .consumeWith(result -> {
-                    RegistrationError registrationResponse = result.getResponseBody();
-                    assert registrationResponse != null;
+        StepVerifier.create(exchange(webClient.post().uri(reqresProperties.getRegistrationApi()).bodyValue(emptyRegistrationRequest), RegistrationError.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    RegistrationError registrationResponse = Objects.requireNonNull(response.getBody());
                     assertThat(registrationResponse.getError()).isNotEmpty();
                     log.info(registrationResponse.getError() + " - registration error response");
-                });
+                })
+                .verifyComplete();
 
     }
 
@@ -409,36 +329,28 @@ class DemoApplicationTests {
 
         // Updating with correct data
         UpdateUserRequestDto updateUserRequestDto = UpdateUserRequestDto.builder().job("Manager").name("Alex").build();
-        webClient.put().uri(reqresProperties.getUsersApi() + userId)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(updateUserRequestDto), UpdateUserRequestDto.class)
-                .exchange()
-                .expectStatus().isOk()
-                .expectBody(UpdateUserResponseDto.class)
-                .consumeWith(result -> {
-                    UpdateUserResponseDto updateUserResponseDto = result.getResponseBody();
-                    assert updateUserResponseDto != null;
-                    assertThat(updateUserResponseDto.getJob()).isEqualTo(updateUserResponseDto.getJob());
-                    assertThat(updateUserResponseDto.getName()).isEqualTo(updateUserResponseDto.getName());
+        StepVerifier.create(exchange(webClient.put().uri(reqresProperties.getUsersApi() + userId).bodyValue(updateUserRequestDto), UpdateUserResponseDto.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    UpdateUserResponseDto updateUserResponseDto = Objects.requireNonNull(response.getBody());
+                    assertThat(updateUserResponseDto.getJob()).isEqualTo(updateUserRequestDto.getJob());
+                    assertThat(updateUserResponseDto.getName()).isEqualTo(updateUserRequestDto.getName());
                     assertThat(updateUserResponseDto.getUpdatedAt()).isNotEmpty();
                     log.info(updateUserResponseDto + " - updated user response");
-                });
+                })
+                .verifyComplete();
 
         // Updating entity that not exist
         UpdateUserRequestDto updateUser = UpdateUserRequestDto.builder().job("CEO").name("Henry").build();
-        webClient.put().uri(reqresProperties.getUsersApi() + idThatNotExist)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(updateUser), UpdateUserRequestDto.class)
-                .exchange()
-                .expectStatus().isNotFound();
+        StepVerifier.create(status(webClient.put().uri(reqresProperties.getUsersApi() + idThatNotExist).bodyValue(updateUser)))
+                .expectNext(HttpStatus.NOT_FOUND)
+                .verifyComplete();
 
         // Updating by incorrect id
         UpdateUserRequestDto updateUserWithIncorrectId = UpdateUserRequestDto.builder().job("Head of Department").name("Sia").build();
-        webClient.put().uri(reqresProperties.getUsersApi() + idWithIncorrectId)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(updateUserWithIncorrectId), UpdateUserRequestDto.class)
-                .exchange()
-                .expectStatus().isBadRequest();
+        StepVerifier.create(status(webClient.put().uri(reqresProperties.getUsersApi() + idWithIncorrectId).bodyValue(updateUserWithIncorrectId)))
+                .expectNext(HttpStatus.BAD_REQUEST)
+                .verifyComplete();
     }
 
     @Test
@@ -449,29 +361,22 @@ class DemoApplicationTests {
         double incorrectUserId = -10000.0;
 
         // delete the invalid id
-        webClient.delete().uri(reqresProperties.getUsersApi() + idThatNotExist)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isNotFound();
-
-        // delete id that exist
-        webClient.delete().uri(reqresProperties.getUsersApi() + userId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isNoContent();
+        StepVerifier.create(status(webClient.delete().uri(reqresProperties.getUsersApi() + idThatNotExist)))
+                .expectNext(HttpStatus.NOT_FOUND)
+                .verifyComplete();
 
-        // deletion of id that already deleted
-        webClient.delete().uri(reqresProperties.getUsersApi() + userId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isNotFound();
+        // delete id that exist, then the same id again
+        StepVerifier.create(status(webClient.delete().uri(reqresProperties.getUsersApi() + userId))
+                        .concatWith(status(webClient.delete().uri(reqresProperties.getUsersApi() + userId))))
+                .expectNext(HttpStatus.NO_CONTENT)
+                .expectNext(HttpStatus.NOT_FOUND)
+                .verifyComplete();
 
 
         // delete entity with incorrect id
-        webClient.delete().uri(reqresProperties.getUsersApi() + incorrectUserId)
-                .accept(MediaType.APPLICATION_JSON)
-                .exchange()
-                .expectStatus().isBadRequest();
+        StepVerifier.create(status(webClient.delete().uri(reqresProperties.getUsersApi() + incorrectUserId)))
+                .expectNext(HttpStatus.BAD_REQUEST)
+                .verifyComplete();
 
     }
 
@@ -485,38 +390,36 @@ class DemoApplicationTests {
 
         // Updating with correct data
         UpdateUserRequestDto updateUserRequestDto = UpdateUserRequestDto.builder().job("Legal Assistant").name("Sara").build();
-        webClient.patch().uri(reqresProperties.getUsersApi() + userId)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(updateUserRequestDto), UpdateUserRequestDto.class)
-                .exchange()
-                .expectStatus().isOk()
-                .expectBody(UpdateUserResponseDto.class)
-                .consumeWith(result -> {
-                    UpdateUserResponseDto updateUserResponseDto = result.getResponseBody();
-                    assert updateUserResponseDto != null;
-                    assertThat(updateUserResponseDto.getJob()).isEqualTo(updateUserResponseDto.getJob());
-                    assertThat(updateUserResponseDto.getName()).isEqualTo(updateUserResponseDto.getName());
+        StepVerifier.create(exchange(webClient.patch().uri(reqresProperties.getUsersApi() + userId).bodyValue(updateUserRequestDto), UpdateUserResponseDto.class))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    UpdateUserResponseDto updateUserResponseDto = Objects.requireNonNull(response.getBody());
+                    assertThat(updateUserResponseDto.getJob()).isEqualTo(updateUserRequestDto.getJob());
+                    assertThat(updateUserResponseDto.getName()).isEqualTo(updateUserRequestDto.getName());
                     assertThat(updateUserResponseDto.getUpdatedAt()).isNotEmpty();
                     log.info(updateUserResponseDto + " - patch user response");
-                });
+                })
+                .verifyComplete();
 
         // Updating entity that not exist
         UpdateUserRequestDto updateUser = UpdateUserRequestDto.builder().job("Accounting Manager").name("Debi").build();
-        webClient.put().uri(reqresProperties.getUsersApi() + idThatNotExist)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(updateUser), UpdateUserRequestDto.class)
-                .exchange()
-                .expectStatus().isNotFound();
+        StepVerifier.create(status(webClient.put().uri(reqresProperties.getUsersApi() + idThatNotExist).bodyValue(updateUser)))
+                .expectNext(HttpStatus.NOT_FOUND)
+                .verifyComplete();
 
         // Updating by incorrect id
         UpdateUserRequestDto updateUserWithIncorrectId = UpdateUserRequestDto.builder().job("Graphic Designer").name("Anna").build();
-        webClient.put().uri(reqresProperties.getUsersApi() + idWithIncorrectId)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(updateUserWithIncorrectId), UpdateUserRequestDto.class)
-                .exchange()
-                .expectStatus().isBadRequest();
+        StepVerifier.create(status(webClient.put().uri(reqresProperties.getUsersApi() + idWithIncorrectId).bodyValue(updateUserWithIncorrectId)))
+                .expectNext(HttpStatus.BAD_REQUEST)
+                .verifyComplete();
     }
 
+    private static <T> Mono<ResponseEntity<T>> exchange(WebClient.RequestHeadersSpec<?> request, Class<T> type) {
+        return request.accept(MediaType.APPLICATION_JSON).exchangeToMono(response -> response.toEntity(type));
+    }
 
-
+    private static Mono<HttpStatus> status(WebClient.RequestHeadersSpec<?> request) {
+        return request.accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
 }
@@ -0,0 +1,118 @@
+package com.example.demo.capture;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.StreamingPageDecoder;
+import com.example.demo.client.filter.CaptureFilter;
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.entity.CaptureSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaptureReplayTests {
+
+    @TempDir
+    Path dir;
+
+    private ReqresStubServer stub;
+
+    private CaptureSettings settings;
+
+    @BeforeEach
+    void setUp() {
+        stub = ReqresStubServer.start(new StubSettings());
+        settings = new CaptureSettings();
+        settings.setEnabled(true);
+        settings.setFile(dir.resolve("capture.bin").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void recordsExchangesAndSurvivesATornTail() throws IOException {
+        capture();
+
+        List<CaptureRecord> records = read();
+        assertThat(records).extracting(CaptureRecord::getMethod).containsExactlyInAnyOrder("GET", "GET", "POST");
+        CaptureRecord created = records.stream().filter(record -> record.getMethod().equals("POST")).findFirst().get();
+        assertThat(created.getEndpoint()).isEqualTo("USER");
+        assertThat(created.getStatus()).isEqualTo(201);
+        assertThat(new String(created.getRequestBody(), StandardCharsets.UTF_8)).contains("morpheus");
+        assertThat(new String(created.getResponseBody(), StandardCharsets.UTF_8)).contains("morpheus");
+        assertThat(created.getHeadersNanos()).isBetween(0L, created.getDurationNanos());
+
+        // a crash mid-append leaves half a frame behind; the next writer cuts it off
+        Files.write(Path.of(settings.getFile()), new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+        assertThat(read()).hasSize(3);
+        capture();
+        assertThat(read()).hasSize(6);
+    }
+
+    @Test
+    void recordsTheUriTemplateNextToTheExpandedUri() throws IOException {
+        CaptureFilter filter = new CaptureFilter(settings);
+        WebClient.builder().filter(filter).build()
+                .get().uri(stub.baseUrl() + "users/{id}", 2)
+                .retrieve().bodyToMono(String.class).block();
+        filter.close();
+
+        CaptureRecord record = read().get(0);
+        assertThat(record.getUri()).isEqualTo(stub.baseUrl() + "users/2");
+        assertThat(record.getUriTemplate()).isEqualTo(stub.baseUrl() + "users/{id}");
+    }
+
+    @Test
+    void replaysACaptureAgainstAnotherServer() {
+        capture();
+        ReqresStubServer other = ReqresStubServer.start(new StubSettings());
+        try {
+            settings.setReplaySpeed(0);
+            ReplayReport report = new CaptureReplayer(WebClient.create(), URI.create("http://localhost:" + other.port()))
+                    .replay(Path.of(settings.getFile()), settings)
+                    .block();
+
+            assertThat(report.getCompleted()).isEqualTo(3);
+            assertThat(report.getStatusMismatches()).isZero();
+            assertThat(report.getRecorded().getTotalCount()).isEqualTo(3);
+        } finally {
+            other.close();
+        }
+    }
+
+    private void capture() {
+        CaptureFilter filter = new CaptureFilter(settings);
+        ReqresClient client = new ReqresClient(WebClient.builder().filter(filter).build(), stub.urls(),
+                new StreamingPageDecoder(new ObjectMapper()));
+        client.getUser(2).block();
+        client.getUsers(1, 6).block();
+        client.create(new NewUserRequestDto("morpheus", "leader")).block();
+        filter.close();
+    }
+
+    private List<CaptureRecord> read() throws IOException {
+        List<CaptureRecord> records = new ArrayList<>();
+        try (CaptureReader reader = CaptureReader.open(Path.of(settings.getFile()))) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.BatchSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.UserDto;
+import com.example.demo.exception.ReqresFailure;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingReqresClientTests {
+
+    private ReqresStubServer stub;
+
+    private ReqresClient client;
+
+    @BeforeEach
+    void setUp() {
+        StubSettings stubSettings = new StubSettings();
+        stubSettings.setUsers(200);
+        stub = ReqresStubServer.start(stubSettings);
+        client = new ReqresClient(WebClient.create(), stub.urls(), new StreamingPageDecoder(new ObjectMapper()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void contiguousIdsShareOnePageAndSparseIdsFallBack() {
+        List<Long> ids = List.of(3L, 1L, 7L, 2L, 5L, 4L, 6L, 8L, 3L, 150L);
+        BatchingReqresClient batching = batching(9);
+
+        StepVerifier.create(Flux.fromIterable(ids).flatMapSequential(batching::getUser).map(UserDto::getData).collectList())
+                .assertNext(users -> {
+                    assertThat(users).extracting("id").containsExactlyElementsOf(ids);
+                    assertThat(users.get(0)).isEqualTo(stub.dataset().user(3L).orElseThrow());
+                })
+                .verifyComplete();
+        assertThat(batching.pageRequests()).isEqualTo(1);
+        assertThat(batching.singleRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void idsMissingFromTheirPageAreFetchedSingly() {
+        stub.dataset().deleteUser(2);
+        BatchingReqresClient batching = batching(4);
+
+        StepVerifier.create(Flux.just(1L, 2L, 3L, 4L).flatMap(id -> batching.getUser(id)
+                        .map(dto -> dto.getData().getId())
+                        .onErrorResume(ReqresFailure.class, failure -> Mono.just(-(long) failure.getStatus().value())))
+                        .collectList())
+                .assertNext(results -> assertThat(results).containsExactlyInAnyOrder(1L, -(long) HttpStatus.NOT_FOUND.value(), 3L, 4L))
+                .verifyComplete();
+        assertThat(batching.pageRequests()).isEqualTo(1);
+    }
+
+    /**
+     * A batch that is sent once {@code distinctIds} are waiting; the window is long enough never to
+     * fire during a test, so the outcome does not depend on scheduling.
+     */
+    private BatchingReqresClient batching(int distinctIds) {
+        BatchSettings settings = new BatchSettings();
+        settings.setWindow(Duration.ofMinutes(1));
+        settings.setMaxBatch(distinctIds);
+        return new BatchingReqresClient(client, settings);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.dto.NewUserResponseDto;
+import com.example.demo.dto.UpdateUserRequestDto;
+import com.example.demo.dto.UpdateUserResponseDto;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkReqresClientTests {
+
+    private ReqresStubServer stub;
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void orderedResultsFollowTheSourceAndUnorderedOnesCoverIt() {
+        StubSettings settings = new StubSettings();
+        settings.setLatencyDistribution(StubSettings.LatencyDistribution.UNIFORM);
+        settings.setLatencyJitter(Duration.ofMillis(40));
+        BulkReqresClient bulk = bulk(settings);
+        List<NewUserRequestDto> requests = IntStream.range(0, 20)
+                .mapToObj(i -> new NewUserRequestDto("user" + i, "job" + i))
+                .toList();
+
+        List<BulkResult<NewUserRequestDto, NewUserResponseDto>> ordered = bulk.createAll(Flux.fromIterable(requests),
+                        BulkOptions.builder().maxInFlight(8).build())
+                .collectList().block();
+        assertThat(ordered).extracting(BulkResult::getInput).containsExactlyElementsOf(requests);
+        assertThat(ordered).allSatisfy(result -> assertThat(result.isSuccess()).isTrue());
+
+        List<BulkResult<NewUserRequestDto, NewUserResponseDto>> unordered = bulk.createAll(Flux.fromIterable(requests),
+                        BulkOptions.builder().maxInFlight(8).ordered(false).build())
+                .collectList().block();
+        assertThat(unordered).extracting(BulkResult::getInput).containsExactlyInAnyOrderElementsOf(requests);
+        assertThat(unordered).allSatisfy(result -> assertThat(result.isSuccess()).isTrue());
+    }
+
+    @Test
+    void aFailedItemIsReportedWithoutEndingTheBatch() {
+        BulkReqresClient bulk = bulk(new StubSettings());
+        UpdateUserRequestDto request = UpdateUserRequestDto.builder().name("neo").job("the one").build();
+        List<UserUpdate> updates = List.of(UserUpdate.of(1, request), UserUpdate.of(999, request), UserUpdate.of(2, request));
+
+        List<BulkResult<UserUpdate, UpdateUserResponseDto>> results = bulk.updateAll(Flux.fromIterable(updates)).collectList().block();
+
+        assertThat(results).extracting(BulkResult::getInput).containsExactlyElementsOf(updates);
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getFailure().getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(results.get(2).isSuccess()).isTrue();
+    }
+
+    @Test
+    void neverHasMoreThanMaxInFlightCallsAtTheStub() {
+        StubSettings settings = new StubSettings();
+        settings.setLatencyDistribution(StubSettings.LatencyDistribution.FIXED);
+        settings.setLatency(Duration.ofMillis(50));
+        BulkReqresClient bulk = bulk(settings);
+
+        List<BulkResult<Long, Void>> results = bulk.deleteAll(Flux.range(1, 12).map(Integer::longValue),
+                BulkOptions.builder().maxInFlight(3).build()).collectList().block();
+
+        assertThat(results).hasSize(12).allSatisfy(result -> assertThat(result.isSuccess()).isTrue());
+        assertThat(stub.peakInFlight()).isEqualTo(3);
+    }
+
+    private BulkReqresClient bulk(StubSettings settings) {
+        stub = ReqresStubServer.start(settings);
+        return new BulkReqresClient(new ReqresClient(WebClient.create(), stub.urls(), new StreamingPageDecoder(new ObjectMapper())));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.CacheSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.UserDto;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingReqresClientTests {
+
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+
+    private final List<HttpStatus> statuses = new CopyOnWriteArrayList<>();
+
+    private ReqresStubServer stub;
+
+    private CachingReqresClient client;
+
+    @BeforeEach
+    void setUp() {
+        stub = ReqresStubServer.start(new StubSettings());
+        CacheSettings settings = new CacheSettings();
+        settings.setTtl(Duration.ofMillis(200));
+        ExchangeFilterFunction recorder = (request, next) -> {
+            requests.add(request);
+            return next.exchange(request).doOnNext(response -> statuses.add(response.statusCode()));
+        };
+        WebClient webClient = WebClient.builder().filter(recorder).build();
+        ReqresClient reqres = new ReqresClient(webClient, stub.urls(), new StreamingPageDecoder(new ObjectMapper()));
+        client = new CachingReqresClient(reqres, new ResponseCache(settings));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void staleEntriesAreRevalidatedAndA304KeepsTheDecodedValue() throws InterruptedException {
+        UserDto first = client.getUser(2).block();
+        assertThat(requests).hasSize(1);
+        HttpHeaders initial = requests.get(0).headers();
+        assertThat(initial.getIfNoneMatch()).isEmpty();
+        assertThat(initial.getFirst(HttpHeaders.IF_MODIFIED_SINCE)).isNull();
+
+        assertThat(client.getUser(2).block()).isSameAs(first);
+        assertThat(requests).hasSize(1);
+
+        Thread.sleep(400);
+        UserDto revalidated = client.getUser(2).block();
+
+        assertThat(requests).hasSize(2);
+        HttpHeaders conditional = requests.get(1).headers();
+        assertThat(conditional.getIfNoneMatch()).hasSize(1);
+        assertThat(conditional.getFirst(HttpHeaders.IF_MODIFIED_SINCE)).isNotBlank();
+        assertThat(statuses).containsExactly(HttpStatus.OK, HttpStatus.NOT_MODIFIED);
+        // the 304 had no body: the very same instance is served again, nothing was decoded
+        assertThat(revalidated).isSameAs(first);
+        assertThat(client.stats().getRevalidated()).isEqualTo(1);
+
+        // and the entry is fresh again
+        assertThat(client.getUser(2).block()).isSameAs(first);
+        assertThat(requests).hasSize(2);
+    }
+}
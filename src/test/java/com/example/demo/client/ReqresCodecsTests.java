@@ -0,0 +1,69 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.entity.CodecSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.User;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReqresCodecsTests {
+
+    private ReqresStubServer stub;
+
+    private ReqresClient client;
+
+    @BeforeEach
+    void setUp() {
+        stub = ReqresStubServer.start(new StubSettings());
+        CodecSettings settings = new CodecSettings();
+        settings.setSmile(true);
+        ReqresCodecs codecs = new ReqresCodecs(new ObjectMapper(), settings);
+        WebClient webClient = WebClient.builder().codecs(codecs::configure).build();
+        client = new ReqresClient(webClient, stub.urls(), new StreamingPageDecoder(codecs));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void stubAnswersSmileWhenAsked() {
+        StepVerifier.create(WebClient.create(stub.urls().getUsersApi() + 2).get()
+                        .accept(ReqresCodecs.SMILE)
+                        .exchangeToMono(response -> Mono.justOrEmpty(response.headers().contentType())))
+                .assertNext(type -> assertThat(ReqresCodecs.SMILE.isCompatibleWith(type)).isTrue())
+                .verifyComplete();
+    }
+
+    @Test
+    void decodesSmileBodiesAndStillSendsJson() {
+        User expected = stub.dataset().user(2L).orElseThrow();
+
+        StepVerifier.create(client.getUser(2))
+                .assertNext(user -> {
+                    assertThat(user.getData()).isEqualTo(expected);
+                    assertThat(user.getSupport()).isNotNull();
+                })
+                .verifyComplete();
+        StepVerifier.create(client.getUsers(1, 6))
+                .assertNext(page -> assertThat(page.getData()).hasSize(6).contains(expected))
+                .verifyComplete();
+        StepVerifier.create(client.listUsers(1, 6).collectList())
+                .assertNext(users -> assertThat(users).containsExactlyElementsOf(stub.dataset().users(1, 6)))
+                .verifyComplete();
+
+        StepVerifier.create(client.create(NewUserRequestDto.builder().name("morpheus").job("leader").build()))
+                .assertNext(created -> assertThat(created.getName()).isEqualTo("morpheus"))
+                .verifyComplete();
+    }
+}
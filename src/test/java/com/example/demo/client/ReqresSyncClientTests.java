@@ -0,0 +1,67 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.StubSettings;
+import com.example.demo.exception.ReqresFailure;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReqresSyncClientTests {
+
+    private ReqresStubServer stub;
+
+    private ReqresSyncClient client;
+
+    @BeforeEach
+    void setUp() {
+        stub = ReqresStubServer.start(new StubSettings());
+        client = new ReqresSyncClient(new ReqresClient(WebClient.create(), stub.urls(),
+                new StreamingPageDecoder(new ObjectMapper())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        stub.close();
+    }
+
+    @Test
+    void failuresAreRethrownUnwrapped() {
+        assertThat(client.getUser(2).getData().getId()).isEqualTo(2L);
+        assertThatThrownBy(() -> client.getUser(23))
+                .isInstanceOfSatisfying(ReqresFailure.class,
+                        failure -> assertThat(failure.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void submittedTasksRunOnVirtualThreadsAndCompleteWithTheirFailure() throws Exception {
+        assertThat(client.submit(() -> Thread.currentThread().isVirtual() && client.getUser(2) != null)
+                .get(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> client.submit(() -> client.getUser(23)).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ReqresFailure.class);
+    }
+
+    @Test
+    void rejectsCallsFromNonBlockingThreads() {
+        Mono<Object> fromParallel = Mono.fromCallable(() -> (Object) client.getUser(2))
+                .subscribeOn(Schedulers.parallel());
+
+        assertThatThrownBy(fromParallel::block)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("non-blocking thread");
+    }
+}
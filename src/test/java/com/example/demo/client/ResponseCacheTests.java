@@ -0,0 +1,84 @@
+package com.example.demo.client;
+
+import com.example.demo.entity.CacheSettings;
+import com.example.demo.exception.ReqresFailure;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTests {
+
+    private final CacheSettings settings = new CacheSettings();
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() {
+        ResponseCache cache = new ResponseCache(settings);
+        AtomicInteger loads = new AtomicInteger();
+        CacheKey key = CacheKey.of(Endpoint.USER, 2);
+
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> cache.get(key, () -> Mono.fromCallable(loads::incrementAndGet)
+                                .delayElement(Duration.ofMillis(100))))
+                        .collectList())
+                .assertNext(values -> assertThat(values).hasSize(20).containsOnly(1))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().getCoalesced()).isEqualTo(19);
+    }
+
+    @Test
+    void notFoundIsCachedUntilItsTtl() throws InterruptedException {
+        settings.setNotFoundTtl(Duration.ofMillis(300));
+        ResponseCache cache = new ResponseCache(settings);
+        AtomicInteger loads = new AtomicInteger();
+        CacheKey key = CacheKey.of(Endpoint.USER, 23);
+        Mono<Object> lookup = cache.get(key, () -> Mono.defer(() -> {
+            loads.incrementAndGet();
+            return Mono.error(new ReqresFailure(HttpStatus.NOT_FOUND, "user 23 not found"));
+        }));
+
+        StepVerifier.create(lookup).expectErrorMatches(error -> ((ReqresFailure) error).getStatus() == HttpStatus.NOT_FOUND).verify();
+        StepVerifier.create(lookup).expectErrorMatches(error -> ((ReqresFailure) error).getStatus() == HttpStatus.NOT_FOUND).verify();
+        assertThat(loads).hasValue(1);
+
+        Thread.sleep(500);
+        StepVerifier.create(lookup).expectError(ReqresFailure.class).verify();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void countBoundStillAppliesUnderTheWeightBound() {
+        settings.setMaximumSize(10);
+        ResponseCache cache = new ResponseCache(settings);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(CacheKey.of(Endpoint.USER, i), "user " + i, Validators.NONE);
+        }
+
+        assertThat(cache.stats().getSize()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void invalidatingAnEndpointDropsOnlyItsEntries() {
+        ResponseCache cache = new ResponseCache(settings);
+        cache.put(CacheKey.of(Endpoint.USER, 1), "user 1", Validators.NONE);
+        cache.put(CacheKey.of(Endpoint.RESOURCE, 1), "resource 1", Validators.NONE);
+        long before = cache.generation(CacheKey.of(Endpoint.USER, 2));
+
+        cache.invalidate(Endpoint.USER);
+        // fetched before the invalidation, so stale as soon as it is stored
+        cache.put(CacheKey.of(Endpoint.USER, 2), "user 2", Validators.NONE, before);
+
+        assertThat(cache.lookup(CacheKey.of(Endpoint.USER, 1))).isNull();
+        assertThat(cache.lookup(CacheKey.of(Endpoint.USER, 2))).isNull();
+        assertThat(cache.lookup(CacheKey.of(Endpoint.RESOURCE, 1)).getValue()).isEqualTo("resource 1");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingPageDecoderTests {
+
+    private static final String PAGE = "{\"page\":2,\"per_page\":2,\"total\":4,\"total_pages\":2,\"data\":["
+            + "{\"id\":3,\"first_name\":\"Emma\",\"address\":{\"geo\":{\"lat\":1.5,\"tags\":[\"a\",{\"b\":[]}]}}},"
+            + "{\"id\":4,\"first_name\":\"Eve\",\"data\":[{\"id\":99}]}"
+            + "],\"support\":{\"url\":\"https://reqres.in\",\"total\":7}}";
+
+    private final StreamingPageDecoder decoder = new StreamingPageDecoder(new ObjectMapper());
+
+    @Test
+    void decodesTheSameWhereverTheChunksAreSplit() {
+        List<PageEvent<JsonNode>> whole = decode(chunks(PAGE, PAGE.length())).collectList().block();
+        assertThat(whole).hasSize(3);
+        assertThat(whole.get(0).getInfo().getTotal()).isEqualTo(4);
+        assertThat(whole.get(0).getInfo().getTotal_pages()).isEqualTo(2);
+        assertThat(whole.get(1).getItem().get("id").asInt()).isEqualTo(3);
+        assertThat(whole.get(1).getItem().has("address")).isTrue();
+        // a nested "data" array inside an element is part of the element, not the page
+        assertThat(whole.get(2).getItem().get("id").asInt()).isEqualTo(4);
+        assertThat(whole.get(2).getItem().get("data").get(0).get("id").asInt()).isEqualTo(99);
+
+        for (int size = 1; size < 16; size++) {
+            List<PageEvent<JsonNode>> split = decode(chunks(PAGE, size)).collectList().block();
+            assertThat(split).extracting(PageEvent::getItem).isEqualTo(whole.stream().map(PageEvent::getItem).toList());
+            assertThat(split.get(0).getInfo()).isEqualTo(whole.get(0).getInfo());
+        }
+    }
+
+    @Test
+    void emitsOnlyTheInfoForAnEmptyPage() {
+        StepVerifier.create(decode(chunks("{\"page\":3,\"per_page\":6,\"total\":12,\"total_pages\":2,\"data\":[]}", 5)))
+                .assertNext(event -> {
+                    assertThat(event.isItem()).isFalse();
+                    assertThat(event.getInfo().getPage()).isEqualTo(3);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void emitsTheInfoWithoutDataAtTheEndOfTheDocument() {
+        StepVerifier.create(decode(chunks("{\"page\":1,\"total\":0}", 3)))
+                .assertNext(event -> {
+                    assertThat(event.isItem()).isFalse();
+                    assertThat(event.getInfo().getTotal()).isZero();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void holdsTheInfoBackUntilThePagingFieldsAfterDataArrive() {
+        String dataFirst = "{\"page\":1,\"data\":[{\"id\":1},{\"id\":2}],\"per_page\":2,\"total\":5,\"total_pages\":3}";
+
+        for (int size = 1; size <= dataFirst.length(); size += 6) {
+            StepVerifier.create(decode(chunks(dataFirst, size)))
+                    .assertNext(event -> assertThat(event.getItem().get("id").asInt()).isEqualTo(1))
+                    .assertNext(event -> assertThat(event.getItem().get("id").asInt()).isEqualTo(2))
+                    .assertNext(event -> {
+                        assertThat(event.isItem()).isFalse();
+                        assertThat(event.getInfo().getTotal()).isEqualTo(5);
+                        assertThat(event.getInfo().getTotal_pages()).isEqualTo(3);
+                    })
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void failsOnTruncatedInputAfterTheCompleteElements() {
+        String truncated = PAGE.substring(0, PAGE.indexOf("{\"id\":4") + 10);
+
+        StepVerifier.create(decode(chunks(truncated, 7)))
+                .assertNext(event -> assertThat(event.isItem()).isFalse())
+                .assertNext(event -> assertThat(event.getItem().get("id").asInt()).isEqualTo(3))
+                .verifyError();
+    }
+
+    @Test
+    void releasesBuffersThatWereNeverFed() {
+        NettyDataBufferFactory factory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+        List<NettyDataBuffer> buffers = new ArrayList<>();
+        byte[] bytes = PAGE.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += 8) {
+            buffers.add(factory.wrap(Unpooled.wrappedBuffer(bytes, offset, Math.min(8, bytes.length - offset))));
+        }
+
+        StepVerifier.create(decoder.decode(Flux.<DataBuffer>fromIterable(buffers).hide(), JsonNode.class).take(1))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(buffers).allSatisfy(buffer -> assertThat(buffer.getNativeBuffer().refCnt()).isZero());
+    }
+
+    private Flux<PageEvent<JsonNode>> decode(Flux<DataBuffer> body) {
+        return decoder.decode(body, JsonNode.class);
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            int end = Math.min(bytes.length, offset + size);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, offset, end)));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
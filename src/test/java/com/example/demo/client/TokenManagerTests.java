@@ -0,0 +1,99 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.RegistrationRequest;
+import com.example.demo.dto.RegistrationResponse;
+import com.example.demo.entity.AuthSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.exception.ReqresFailure;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenManagerTests {
+
+    private ReqresStubServer stub;
+
+    private AuthSettings settings;
+
+    private final AtomicInteger logins = new AtomicInteger();
+
+    private TokenManager tokens;
+
+    @BeforeEach
+    void setUp() {
+        StubSettings stubSettings = new StubSettings();
+        stubSettings.setLatencyDistribution(StubSettings.LatencyDistribution.FIXED);
+        stubSettings.setLatency(Duration.ofMillis(50));
+        stub = ReqresStubServer.start(stubSettings);
+        ReqresClient client = new ReqresClient(WebClient.create(), stub.urls(), new StreamingPageDecoder(new ObjectMapper())) {
+            @Override
+            public Mono<RegistrationResponse> login(RegistrationRequest request) {
+                logins.incrementAndGet();
+                return super.login(request);
+            }
+        };
+        settings = new AuthSettings();
+        settings.setEmail("eve.holt@reqres.in");
+        settings.setPassword("cityslicka");
+        tokens = new TokenManager(client, settings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void concurrentCallersShareOneLogin() {
+        StepVerifier.create(Flux.range(0, 50).flatMap(i -> tokens.token(), 50).distinct().collectList())
+                .assertNext(distinct -> assertThat(distinct).hasSize(1))
+                .verifyComplete();
+        assertThat(logins).hasValue(1);
+
+        tokens.token().block();
+        assertThat(logins).hasValue(1);
+    }
+
+    @Test
+    void refreshesAheadOfExpiryWithoutBlockingReaders() throws InterruptedException {
+        settings.setTokenTtl(Duration.ofSeconds(30));
+        settings.setRefreshAhead(Duration.ofMillis(29_900));
+        String first = tokens.token().block();
+        Thread.sleep(150);
+
+        assertThat(tokens.token().block()).isEqualTo(first);
+        // the replacement token is not due for refresh, so any further login would be a duplicate
+        settings.setRefreshAhead(Duration.ZERO);
+        String next = first;
+        for (int i = 0; i < 250 && next.equals(first); i++) {
+            Thread.sleep(20);
+            next = tokens.token().block();
+        }
+        assertThat(next).isNotEqualTo(first);
+        assertThat(logins).hasValue(2);
+    }
+
+    @Test
+    void invalidatedTokenIsReplacedAndFailuresAreNotCached() {
+        String first = tokens.token().block();
+        tokens.invalidate(first);
+        assertThat(tokens.token().block()).isNotEqualTo(first);
+        assertThat(logins).hasValue(2);
+
+        RegistrationRequest unknown = RegistrationRequest.builder().email("nobody@reqres.in").password("x").build();
+        StepVerifier.create(tokens.token(unknown)).expectError(ReqresFailure.class).verify();
+        StepVerifier.create(tokens.token(unknown)).expectError(ReqresFailure.class).verify();
+        assertThat(logins).hasValue(4);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.entity.ResilienceSettings;
+import com.example.demo.exception.ReqresFailure;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerFilterTests {
+
+    private static final String HOST = "reqres.invalid";
+
+    private final ResilienceSettings settings = new ResilienceSettings();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CircuitBreakerFilter breaker;
+
+    @BeforeEach
+    void setUp() {
+        settings.setBreakerWindow(4);
+        settings.setBreakerFailureRate(0.5);
+        settings.setBreakerOpenFor(Duration.ofMillis(300));
+        breaker = new CircuitBreakerFilter(settings);
+    }
+
+    @Test
+    void opensFailsFastThenClosesAfterASuccessfulProbe() throws InterruptedException {
+        trip();
+        assertThat(breaker.isOpen(HOST)).isTrue();
+
+        int before = calls.get();
+        assertThatThrownBy(() -> call(HttpStatus.OK))
+                .isInstanceOfSatisfying(ReqresFailure.class,
+                        failure -> assertThat(failure.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(calls).hasValue(before);
+
+        Thread.sleep(settings.getBreakerOpenFor().toMillis() + 50);
+        Sinks.One<ClientResponse> probe = Sinks.one();
+        breaker.filter(request(), request -> {
+            calls.incrementAndGet();
+            return probe.asMono();
+        }).subscribe();
+        // only one probe is let through while half-open
+        assertThatThrownBy(() -> call(HttpStatus.OK)).isInstanceOf(ReqresFailure.class);
+        assertThat(calls).hasValue(before + 1);
+
+        probe.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        assertThat(breaker.isOpen(HOST)).isFalse();
+        assertThat(call(HttpStatus.OK).statusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void aFailedProbeReopensTheCircuit() throws InterruptedException {
+        trip();
+        Thread.sleep(settings.getBreakerOpenFor().toMillis() + 50);
+
+        assertThat(call(HttpStatus.INTERNAL_SERVER_ERROR).statusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(breaker.isOpen(HOST)).isTrue();
+        assertThatThrownBy(() -> call(HttpStatus.OK)).isInstanceOf(ReqresFailure.class);
+    }
+
+    @Test
+    void lateOutcomesOfCallsStartedBeforeOpeningAreIgnored() throws InterruptedException {
+        Sinks.One<ClientResponse> late = Sinks.one();
+        breaker.filter(request(), request -> late.asMono()).subscribe();
+        trip();
+
+        late.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        assertThat(breaker.isOpen(HOST)).isTrue();
+
+        // neither does it count against the probe once the circuit is half-open
+        Thread.sleep(settings.getBreakerOpenFor().toMillis() + 50);
+        assertThat(call(HttpStatus.OK).statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(breaker.isOpen(HOST)).isFalse();
+    }
+
+    private void trip() {
+        for (int i = 0; i < settings.getBreakerWindow(); i++) {
+            call(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private ClientResponse call(HttpStatus status) {
+        ExchangeFunction next = request -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ClientResponse.create(status).build();
+        });
+        return breaker.filter(request(), next).block();
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://" + HOST + "/api/users/2")).build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.entity.ResilienceSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import org.reactivestreams.Subscription;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingFilterTests {
+
+    private final AtomicInteger released = new AtomicInteger();
+
+    @Test
+    void trackerReportsThePercentileOfTheWindow() {
+        LatencyTracker tracker = new LatencyTracker(100, 0.95);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+        assertThat(tracker.count()).isEqualTo(100);
+        assertThat(tracker.percentileNanos()).isEqualTo(95);
+
+        // the window slides: the oldest samples are overwritten
+        for (int i = 0; i < 100; i++) {
+            tracker.record(1000);
+        }
+        assertThat(tracker.percentileNanos()).isEqualTo(1000);
+    }
+
+    @Test
+    void hedgesOnlyAfterEnoughSamplesAndOnceThePercentileHasPassed() {
+        ResilienceSettings settings = new ResilienceSettings();
+        settings.setHedging(true);
+        settings.setHedgeMinSamples(5);
+        settings.setMinHedgeDelay(Duration.ofMillis(50));
+        HedgingFilter filter = new HedgingFilter(settings);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction fast = request -> {
+            calls.incrementAndGet();
+            return Mono.fromSupplier(() -> respond(HttpStatus.OK));
+        };
+
+        for (int i = 0; i < 5; i++) {
+            filter.filter(request(), fast).block();
+        }
+        assertThat(calls).hasValue(5);
+
+        // a primary that answers in time is not hedged
+        filter.filter(request(), fast).block();
+        assertThat(calls).hasValue(6);
+
+        // a stuck primary is hedged after the delay and the hedge wins
+        calls.set(0);
+        ExchangeFunction stuckThenFast = request -> calls.incrementAndGet() == 1
+                ? Mono.never()
+                : Mono.fromSupplier(() -> respond(HttpStatus.ACCEPTED));
+        long start = System.nanoTime();
+        ClientResponse response = filter.filter(request(), stuckThenFast).block(Duration.ofSeconds(5));
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(calls).hasValue(2);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void losersAndWinnersNobodyWaitsForHaveTheirBodiesReleased() {
+        // both answer immediately: the primary wins and the hedge's body is released
+        ClientResponse winner = HedgingFilter.race(Mono.fromSupplier(() -> respond(HttpStatus.OK)),
+                Mono.fromSupplier(() -> respond(HttpStatus.ACCEPTED))).block();
+        assertThat(winner.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(released).hasValue(1);
+
+        // the caller cancels before the winner is delivered: nobody will read either body
+        released.set(0);
+        HedgingFilter.race(Mono.fromSupplier(() -> respond(HttpStatus.OK)),
+                Mono.fromSupplier(() -> respond(HttpStatus.ACCEPTED))).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                cancel();
+            }
+        });
+        assertThat(released).hasValue(2);
+    }
+
+    private ClientResponse respond(HttpStatus status) {
+        Flux<DataBuffer> body = Flux.<DataBuffer>empty().doOnSubscribe(subscription -> released.incrementAndGet());
+        return ClientResponse.create(status).body(body).build();
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://reqres.invalid/api/users/2")).build();
+    }
+}
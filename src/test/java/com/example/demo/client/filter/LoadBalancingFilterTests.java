@@ -0,0 +1,142 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.StreamingPageDecoder;
+import com.example.demo.dto.NewUserRequestDto;
+import com.example.demo.entity.BalancerSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.Url;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class LoadBalancingFilterTests {
+
+    private ReqresStubServer fast;
+
+    private ReqresStubServer slow;
+
+    private String dead;
+
+    private final BalancerSettings settings = new BalancerSettings();
+
+    @BeforeEach
+    void setUp() {
+        fast = ReqresStubServer.start(new StubSettings());
+        StubSettings slowSettings = new StubSettings();
+        slowSettings.setLatencyDistribution(StubSettings.LatencyDistribution.FIXED);
+        slowSettings.setLatency(Duration.ofMillis(100));
+        slow = ReqresStubServer.start(slowSettings);
+        ReqresStubServer closed = ReqresStubServer.start(new StubSettings());
+        dead = base(closed);
+        closed.close();
+        settings.setFailuresToEject(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fast.close();
+        slow.close();
+    }
+
+    @Test
+    void prefersTheFasterMirrorAndEjectsTheDeadOne() {
+        LoadBalancingFilter balancer = balancer(List.of(base(fast), base(slow), dead));
+        ReqresClient client = client(balancer);
+
+        for (int i = 0; i < 40; i++) {
+            assertThat(client.getUser(2).block().getData().getId()).isEqualTo(2L);
+        }
+
+        Map<String, LoadBalancingFilter.UpstreamStats> stats = balancer.upstreams().stream()
+                .collect(Collectors.toMap(upstream -> upstream.getBase().toString(), Function.identity()));
+        assertThat(stats.get(base(fast)).getRequests()).isGreaterThan(stats.get(base(slow)).getRequests());
+        assertThat(stats.get(dead).isEjected()).isTrue();
+        assertThat(stats.values()).allSatisfy(upstream -> assertThat(upstream.getInFlight()).isZero());
+    }
+
+    @Test
+    void failsOverWritesThatCouldNotConnect() {
+        LoadBalancingFilter balancer = balancer(List.of(dead, base(fast)));
+        ReqresClient client = client(balancer);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(client.create(new NewUserRequestDto("morpheus", "leader")).block().getName()).isEqualTo("morpheus");
+        }
+    }
+
+    @Test
+    void balancesEveryEndpointOriginOverItsOwnMirrors() {
+        Url urls = urls();
+        urls.setBaseUrls(List.of(base(slow)));
+        urls.setResourcesApi(urls.getResourcesApi().replace("reqres.invalid", "resources.invalid"));
+        urls.setResourcesApiWithOffsetAndLimit(urls.getResourcesApiWithOffsetAndLimit().replace("reqres.invalid", "resources.invalid"));
+        settings.setMirrors(Map.of("http://resources.invalid", List.of(base(fast))));
+        LoadBalancingFilter balancer = new LoadBalancingFilter(urls, settings);
+        ReqresClient client = new ReqresClient(WebClient.builder().filter(balancer).build(), urls,
+                new StreamingPageDecoder(new ObjectMapper()));
+
+        assertThat(client.getResource(2).block().getData().getId()).isEqualTo(2L);
+        assertThat(client.getUser(2).block().getData().getId()).isEqualTo(2L);
+
+        Map<String, LoadBalancingFilter.UpstreamStats> stats = balancer.upstreams().stream()
+                .collect(Collectors.toMap(upstream -> upstream.getBase().toString(), Function.identity()));
+        assertThat(stats.get(base(fast)).getRequests()).isEqualTo(1);
+        assertThat(stats.get(base(slow)).getRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesToStartWhenAnEndpointOriginHasNoMirrors() {
+        Url urls = urls();
+        urls.setBaseUrls(List.of(base(fast)));
+        urls.setLoginApi(urls.getLoginApi().replace("reqres.invalid", "auth.invalid"));
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> new LoadBalancingFilter(urls, settings))
+                .withMessageContaining("reqres.loginApi")
+                .withMessageContaining("reqres.balancer.mirrors[http://auth.invalid:80]");
+    }
+
+    private LoadBalancingFilter balancer(List<String> baseUrls) {
+        Url urls = urls();
+        urls.setBaseUrls(baseUrls);
+        return new LoadBalancingFilter(urls, settings);
+    }
+
+    private ReqresClient client(LoadBalancingFilter balancer) {
+        return new ReqresClient(WebClient.builder().filter(balancer).build(), urls(), new StreamingPageDecoder(new ObjectMapper()));
+    }
+
+    /**
+     * The stub's endpoints on a host that does not resolve, so every call has to be rerouted.
+     */
+    private Url urls() {
+        Url urls = fast.urls();
+        String from = base(fast);
+        String to = "http://reqres.invalid";
+        urls.setUsersApi(urls.getUsersApi().replace(from, to));
+        urls.setUsersApiWithOffset(urls.getUsersApiWithOffset().replace(from, to));
+        urls.setUsersApiWithOffsetAndLimit(urls.getUsersApiWithOffsetAndLimit().replace(from, to));
+        urls.setResourcesApi(urls.getResourcesApi().replace(from, to));
+        urls.setResourcesApiWithOffsetAndLimit(urls.getResourcesApiWithOffsetAndLimit().replace(from, to));
+        urls.setLoginApi(urls.getLoginApi().replace(from, to));
+        urls.setRegistrationApi(urls.getRegistrationApi().replace(from, to));
+        return urls;
+    }
+
+    private static String base(ReqresStubServer stub) {
+        return "http://127.0.0.1:" + stub.port();
+    }
+}
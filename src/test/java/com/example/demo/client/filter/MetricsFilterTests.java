@@ -0,0 +1,53 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.entity.HttpSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsFilterTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final HttpSettings settings = new HttpSettings();
+
+    @Test
+    void recordsEachExchangeOnOneTimerPerStatus() {
+        MetricsFilter filter = new MetricsFilter(registry, settings);
+
+        for (int i = 0; i < 3; i++) {
+            exchange(filter, HttpStatus.OK);
+        }
+        exchange(filter, HttpStatus.NOT_FOUND);
+
+        assertThat(registry.get("reqres.client.requests").tag("status", "200").timer().count()).isEqualTo(3);
+        assertThat(registry.get("reqres.client.requests").tag("status", "404").timer().count()).isEqualTo(1);
+        assertThat(registry.get("reqres.client.bytes.received").tag("status", "200").summary().totalAmount())
+                .isEqualTo(3 * "body".length());
+    }
+
+    @Test
+    void recordsNothingWhenMetricsAreOff() {
+        settings.setMetrics(false);
+        MetricsFilter filter = new MetricsFilter(registry, settings);
+
+        exchange(filter, HttpStatus.OK);
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    private static void exchange(MetricsFilter filter, HttpStatus status) {
+        ExchangeFunction next = request -> Mono.fromSupplier(() -> ClientResponse.create(status).body("body").build());
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://reqres.invalid/api/users/2")).build();
+        filter.filter(request, next).flatMap(response -> response.bodyToMono(String.class)).block();
+    }
+}
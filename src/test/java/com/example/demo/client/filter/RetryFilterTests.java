@@ -0,0 +1,89 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.entity.ResilienceSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Isolated because virtual time replaces the global parallel scheduler other tests sleep on.
+ */
+@Isolated
+class RetryFilterTests {
+
+    private final ResilienceSettings settings = new ResilienceSettings();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void retriesServerErrorsUntilTheBudgetIsSpent() {
+        settings.setMaxRetries(3);
+        settings.setRetryBackoff(Duration.ofSeconds(1));
+        settings.setMaxRetryBackoff(Duration.ofSeconds(2));
+        RetryFilter filter = new RetryFilter(settings);
+
+        // full jitter never sleeps longer than the capped ceilings 1s + 2s + 2s
+        StepVerifier.withVirtualTime(() -> filter.filter(request(HttpMethod.GET), failing(Integer.MAX_VALUE)))
+                .expectSubscription()
+                .then(() -> assertThat(attempts).hasValue(1))
+                .thenAwait(Duration.ofSeconds(5))
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verifyComplete();
+        assertThat(attempts).hasValue(4);
+    }
+
+    @Test
+    void returnsTheFirstSuccessfulAttempt() {
+        RetryFilter filter = new RetryFilter(settings);
+
+        StepVerifier.withVirtualTime(() -> filter.filter(request(HttpMethod.GET), failing(2)))
+                .thenAwait(Duration.ofSeconds(1))
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.OK))
+                .verifyComplete();
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void doesNotRetryPostsOrClientErrors() {
+        RetryFilter filter = new RetryFilter(settings);
+
+        StepVerifier.create(filter.filter(request(HttpMethod.POST), failing(1)))
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verifyComplete();
+        assertThat(attempts).hasValue(1);
+
+        attempts.set(0);
+        StepVerifier.create(filter.filter(request(HttpMethod.GET),
+                        request -> Mono.fromSupplier(() -> respond(HttpStatus.NOT_FOUND))))
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.NOT_FOUND))
+                .verifyComplete();
+        assertThat(attempts).hasValue(1);
+    }
+
+    private ExchangeFunction failing(int failures) {
+        return request -> Mono.fromSupplier(() -> attempts.get() < failures
+                ? respond(HttpStatus.SERVICE_UNAVAILABLE)
+                : respond(HttpStatus.OK));
+    }
+
+    private ClientResponse respond(HttpStatus status) {
+        attempts.incrementAndGet();
+        return ClientResponse.create(status).body("attempt " + attempts.get()).build();
+    }
+
+    private static ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, URI.create("http://reqres.invalid/api/users/2")).build();
+    }
+}
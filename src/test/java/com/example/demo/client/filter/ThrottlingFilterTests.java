@@ -0,0 +1,55 @@
+package com.example.demo.client.filter;
+
+import com.example.demo.entity.LimitSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThrottlingFilterTests {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final ExchangeFunction next = request -> Mono.fromSupplier(() -> {
+        calls.incrementAndGet();
+        return ClientResponse.create(HttpStatus.OK).build();
+    });
+
+    @Test
+    void aCallCancelledWhileWaitingForItsTokenGivesItBack() {
+        LimitSettings settings = new LimitSettings();
+        settings.setRatePerSecond(1);
+        settings.setBurst(1);
+        // warm up on an unpaced filter so class loading does not count as idle time refilling the bucket
+        new ThrottlingFilter(new LimitSettings()).filter(request(), next).block();
+        calls.set(0);
+        ThrottlingFilter filter = new ThrottlingFilter(settings);
+
+        filter.filter(request(), next).block();
+        Disposable cancelled = filter.filter(request(), next).subscribe();
+        cancelled.dispose();
+
+        // without the refund this call would queue behind the abandoned token: about two seconds
+        long start = System.nanoTime();
+        filter.filter(request(), next).block();
+        Duration waited = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(calls).hasValue(2);
+        assertThat(waited).isGreaterThan(Duration.ofMillis(500)).isLessThan(Duration.ofMillis(1700));
+        assertThat(filter.getLimit().getInFlight()).isZero();
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://reqres.invalid/api/users/2")).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.client.limit;
+
+import com.example.demo.exception.ReqresFailure;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTests {
+
+    private static final long THRESHOLD = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void growsAdditivelyAndShrinksMultiplicativelyWithinBounds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 6, 0.5, THRESHOLD, 10);
+
+        for (int i = 0; i < 4; i++) {
+            limit.onSuccess(1);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+        limit.onSuccess(1);
+        assertThat(limit.getLimit()).isEqualTo(5);
+        for (int i = 0; i < 100; i++) {
+            limit.onSuccess(1);
+        }
+        assertThat(limit.getLimit()).isEqualTo(6);
+
+        limit.onDrop();
+        assertThat(limit.getLimit()).isEqualTo(3);
+        // a response slower than the threshold counts as a drop
+        limit.onSuccess(2 * THRESHOLD);
+        assertThat(limit.getLimit()).isEqualTo(1);
+        limit.onDrop();
+        assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void releasedPermitsAreHandedToTheNextLiveWaiterInOrder() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1, 0.5, THRESHOLD, 3);
+        Sinks.Empty<Void> running = Sinks.empty();
+        limit.run(running.asMono()).subscribe();
+
+        AtomicBoolean first = new AtomicBoolean();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicBoolean third = new AtomicBoolean();
+        Sinks.Empty<Void> firstCall = Sinks.empty();
+        Sinks.Empty<Void> thirdCall = Sinks.empty();
+        limit.run(started(first, firstCall)).subscribe();
+        Disposable second = limit.run(started(cancelled, Sinks.empty())).subscribe();
+        limit.run(started(third, thirdCall)).subscribe();
+        StepVerifier.create(limit.run(Mono.empty()))
+                .expectErrorMatches(error -> ((ReqresFailure) error).getStatus() == HttpStatus.TOO_MANY_REQUESTS)
+                .verify();
+        assertThat(first).isFalse();
+
+        running.tryEmitEmpty();
+        assertThat(first).isTrue();
+        assertThat(third).isFalse();
+
+        second.dispose();
+        firstCall.tryEmitEmpty();
+        assertThat(cancelled).isFalse();
+        assertThat(third).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(1);
+
+        thirdCall.tryEmitEmpty();
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void cancellingWaitersWhilePermitsAreFreedLeaksNoPermit() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 4, 4, 0.5, THRESHOLD, 1_000);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 1_000; round++) {
+                List<Sinks.Empty<Void>> running = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    Sinks.Empty<Void> call = Sinks.empty();
+                    limit.run(call.asMono()).subscribe();
+                    running.add(call);
+                }
+                List<Disposable> waiters = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    // half finish as soon as they get through, half are still running when cancelled
+                    waiters.add(limit.run(i % 2 == 0 ? Mono.<Void>empty() : Mono.<Void>never()).subscribe());
+                }
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> releasing = executor.submit(() -> {
+                    start.await();
+                    running.forEach(Sinks.Empty::tryEmitEmpty);
+                    return null;
+                });
+                Future<?> cancelling = executor.submit(() -> {
+                    start.await();
+                    waiters.forEach(Disposable::dispose);
+                    return null;
+                });
+                start.countDown();
+                releasing.get(10, TimeUnit.SECONDS);
+                cancelling.get(10, TimeUnit.SECONDS);
+
+                assertThat(limit.getInFlight()).as("round %d", round).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Mono<Void> started(AtomicBoolean started, Sinks.Empty<Void> call) {
+        return Mono.defer(() -> {
+            started.set(true);
+            return call.asMono();
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.client.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketTests {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long SLACK = TimeUnit.MILLISECONDS.toNanos(300);
+
+    @Test
+    void burstIsFreeThenReservationsArePacedOneIntervalApart() {
+        TokenBucket bucket = new TokenBucket(1, 3);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isCloseTo(INTERVAL, within(SLACK));
+        assertThat(bucket.reserve()).isCloseTo(2 * INTERVAL, within(SLACK));
+    }
+
+    @Test
+    void idleTimeRefillsTheBurstButNoMore() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, 2);
+        bucket.reserve();
+        bucket.reserve();
+
+        Thread.sleep(500);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isPositive();
+    }
+
+    @Test
+    void aRefundedTokenIsReservedAgain() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        assertThat(bucket.reserve()).isZero();
+        long wait = bucket.reserve();
+        assertThat(wait).isCloseTo(INTERVAL, within(SLACK));
+
+        bucket.refund();
+
+        assertThat(bucket.reserve()).isCloseTo(INTERVAL, within(SLACK));
+    }
+}
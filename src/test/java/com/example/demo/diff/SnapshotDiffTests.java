@@ -0,0 +1,72 @@
+package com.example.demo.diff;
+
+import com.example.demo.entity.User;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotDiffTests {
+
+    private final SnapshotDiff<User> diff = new SnapshotDiff<>(RecordSchema.USERS);
+
+    @Test
+    void emitsCreatedUpdatedAndDeletedInIdOrder() {
+        Flux<User> before = Flux.just(user(1, "george"), user(2, "janet"), user(4, "eve"));
+        Flux<User> after = Flux.just(user(2, "janet"), user(3, "emma"), user(4, "eva"));
+
+        StepVerifier.create(diff.diff(before, after))
+                .assertNext(event -> {
+                    assertThat(event.getKind()).isEqualTo(ChangeEvent.Kind.DELETED);
+                    assertThat(event.getId()).isEqualTo(1);
+                })
+                .assertNext(event -> {
+                    assertThat(event.getKind()).isEqualTo(ChangeEvent.Kind.CREATED);
+                    assertThat(event.getAfter().getFirst_name()).isEqualTo("emma");
+                })
+                .assertNext(event -> {
+                    assertThat(event.getKind()).isEqualTo(ChangeEvent.Kind.UPDATED);
+                    assertThat(event.getChanges()).containsExactly(
+                            new FieldChange("email", "eve@reqres.in", "eva@reqres.in"),
+                            new FieldChange("first_name", "eve", "eva"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void streamsLargeSnapshotsWithoutMaterializingThem() {
+        int size = 2_000_000;
+        // every 1000th user renamed: the rest must be skipped by hash alone
+        Iterator<User> before = Flux.range(1, size).map(id -> user(id, "user" + id)).toIterable().iterator();
+        Iterator<User> after = Flux.range(1, size).map(id -> user(id, id % 1000 == 0 ? "renamed" : "user" + id))
+                .toIterable().iterator();
+
+        long updated = 0;
+        for (Iterator<ChangeEvent<User>> events = diff.diff(before, after); events.hasNext(); ) {
+            assertThat(events.next().getKind()).isEqualTo(ChangeEvent.Kind.UPDATED);
+            updated++;
+        }
+        assertThat(updated).isEqualTo(size / 1000);
+    }
+
+    @Test
+    void rejectsUnsortedInput() {
+        Iterator<ChangeEvent<User>> events = diff.diff(List.of(user(2, "a"), user(1, "b")).iterator(), List.<User>of().iterator());
+
+        assertThatThrownBy(events::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static User user(long id, String firstName) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(firstName + "@reqres.in");
+        user.setFirst_name(firstName);
+        user.setLast_name("weaver");
+        return user;
+    }
+}
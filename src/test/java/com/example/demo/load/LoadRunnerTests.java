@@ -0,0 +1,104 @@
+package com.example.demo.load;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.StreamingPageDecoder;
+import com.example.demo.entity.LoadSettings;
+import com.example.demo.entity.LoadSettings.Operation;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class LoadRunnerTests {
+
+    private static final long LATENCY_MICROS = 20_000;
+
+    private ReqresStubServer stub;
+
+    private ReqresClient client;
+
+    @BeforeEach
+    void setUp() {
+        StubSettings stubSettings = new StubSettings();
+        stubSettings.setLatencyDistribution(StubSettings.LatencyDistribution.FIXED);
+        stubSettings.setLatency(Duration.ofNanos(LATENCY_MICROS * 1_000));
+        stub = ReqresStubServer.start(stubSettings);
+        client = new ReqresClient(WebClient.create(), stub.urls(), new StreamingPageDecoder(new ObjectMapper()));
+        // the first call sets up codecs and connections, which would eat most of a short run
+        client.getUser(1).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void openModelIssuesEveryScheduledCall() {
+        LoadSettings settings = settings(LoadSettings.Model.OPEN);
+        settings.setRate(100);
+
+        LoadReport report = new LoadRunner(client, settings).run();
+
+        OperationStats stats = report.getStats().get(Operation.GET_USER);
+        assertThat(stats.getSuccesses()).isEqualTo(50);
+        assertThat(stats.getErrorCount()).isZero();
+        assertThat(stats.getDropped()).isZero();
+        assertThat(report.getUnfinished()).isZero();
+        assertPercentiles(stats.getResponseTime());
+        assertThat(report.summary()).contains("GET_USER").contains("total 50 calls");
+    }
+
+    @Test
+    void closedModelKeepsEveryUserBusy() {
+        LoadSettings settings = settings(LoadSettings.Model.CLOSED);
+        settings.setConcurrency(4);
+
+        LoadReport report = new LoadRunner(client, settings).run();
+
+        OperationStats stats = report.getStats().get(Operation.GET_USER);
+        // 4 users, 500ms, 20ms per call: at most 25 calls each, and well over a few even on a busy machine
+        assertThat(stats.getSuccesses()).isBetween(20L, 4 * 26L);
+        assertThat(stats.getErrorCount()).isZero();
+        assertThat(report.getUnfinished()).isZero();
+        assertPercentiles(stats.getServiceTime());
+    }
+
+    @Test
+    void rejectsANonPositiveRate() {
+        LoadSettings settings = settings(LoadSettings.Model.OPEN);
+        settings.setRate(0);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new LoadRunner(client, settings))
+                .withMessageContaining("reqres.load.rate");
+    }
+
+    private static void assertPercentiles(Histogram histogram) {
+        assertThat(histogram.getValueAtPercentile(50)).isGreaterThanOrEqualTo(LATENCY_MICROS);
+        assertThat(histogram.getValueAtPercentile(99)).isGreaterThanOrEqualTo(histogram.getValueAtPercentile(50));
+        assertThat(histogram.getMaxValue()).isGreaterThanOrEqualTo(histogram.getValueAtPercentile(99));
+    }
+
+    private static LoadSettings settings(LoadSettings.Model model) {
+        LoadSettings settings = new LoadSettings();
+        settings.setModel(model);
+        settings.setWarmup(Duration.ZERO);
+        settings.setDuration(Duration.ofMillis(500));
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.GET_USER, 1);
+        settings.setMix(mix);
+        return settings;
+    }
+}
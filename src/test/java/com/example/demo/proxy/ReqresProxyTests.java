@@ -0,0 +1,178 @@
+package com.example.demo.proxy;
+
+import com.example.demo.client.ResponseCache;
+import com.example.demo.client.filter.RetryFilter;
+import com.example.demo.entity.CacheSettings;
+import com.example.demo.entity.ProxySettings;
+import com.example.demo.entity.ResilienceSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.entity.Url;
+import com.example.demo.stub.ReqresStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReqresProxyTests {
+
+    private ReqresStubServer stub;
+
+    @BeforeEach
+    void setUp() {
+        stub = ReqresStubServer.start(new StubSettings());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private WebTestClient proxy(CacheSettings cacheSettings) {
+        return proxy(new ResponseCache(cacheSettings));
+    }
+
+    private WebTestClient proxy(ResponseCache cache) {
+        ReqresProxy proxy = new ReqresProxy(WebClient.create(), stub.urls(), cache, new ProxySettings());
+        return WebTestClient.bindToRouterFunction(proxy.routes()).build();
+    }
+
+    @Test
+    void servesRepeatedGetsFromTheCache() {
+        WebTestClient client = proxy(new CacheSettings());
+        String upstream = WebClient.create(stub.urls().getUsersApi() + 2).get().retrieve().bodyToMono(String.class).block();
+
+        String etag = client.get().uri("/api/users/2").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "MISS")
+                .expectBody(String.class).isEqualTo(upstream)
+                .returnResult().getResponseHeaders().getETag();
+        client.get().uri("/api/users/2").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "HIT")
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(upstream);
+        client.get().uri("/api/users/2").ifNoneMatch(etag).exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "HIT");
+
+        client.get().uri("/api/users?page=2&per_page=3").exchange()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "MISS")
+                .expectBody().jsonPath("$.data.length()").isEqualTo(3);
+        client.get().uri("/api/users?page=2&per_page=3").exchange()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "HIT")
+                .expectBody().jsonPath("$.data[0].id").isEqualTo(4);
+        client.get().uri("/api/unknown/404").exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void revalidatesExpiredEntriesAndDropsThemOnWrites() {
+        CacheSettings settings = new CacheSettings();
+        settings.setTtl(Duration.ZERO);
+        WebTestClient client = proxy(settings);
+
+        // the copy is cached once the body has been streamed to the caller
+        client.get().uri("/api/users/3").exchange()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "MISS")
+                .expectBody().jsonPath("$.data.id").isEqualTo(3);
+        client.get().uri("/api/users/3").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "REVALIDATED")
+                .expectBody().jsonPath("$.data.id").isEqualTo(3);
+
+        client.post().uri("/api/users").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"morpheus\",\"job\":\"leader\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CREATED)
+                .expectBody().jsonPath("$.name").isEqualTo("morpheus");
+        client.get().uri("/api/users/3").exchange()
+                .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "MISS");
+
+        client.post().uri("/api/login").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"eve.holt@reqres.in\",\"password\":\"cityslicka\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.token").value(token -> assertThat((String) token).isNotBlank());
+    }
+
+    @Test
+    void cachedBodiesAreBoundedByBytes() {
+        CacheSettings settings = new CacheSettings();
+        settings.setMaximumWeight(DataSize.ofKilobytes(16));
+        ResponseCache cache = new ResponseCache(settings);
+        WebTestClient client = proxy(cache);
+
+        // 40 distinct pages of about 2KB each: several times the bound
+        long bytes = 0;
+        long smallest = Long.MAX_VALUE;
+        for (int i = 0; i < 40; i++) {
+            byte[] body = client.get().uri("/api/users?page=1&per_page=12&n=" + i).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ReqresProxy.CACHE_HEADER, "MISS")
+                    .expectBody().returnResult().getResponseBody();
+            bytes += body.length;
+            smallest = Math.min(smallest, body.length);
+        }
+
+        assertThat(bytes).isGreaterThan(3 * settings.getMaximumWeight().toBytes());
+        assertThat(cache.stats().getEvictions()).isPositive();
+        assertThat(cache.stats().getSize() * smallest).isLessThanOrEqualTo(settings.getMaximumWeight().toBytes());
+    }
+
+    @Test
+    void retriedWritesSendTheBodyAgain() {
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> received = new CopyOnWriteArrayList<>();
+        // answers the first PUT with 503 after reading its body, then echoes
+        DisposableServer flaky = HttpServer.create().host("localhost").port(0)
+                .route(routes -> routes.put("/api/users/{id}", (request, response) -> request.receive().aggregate().asString()
+                        .flatMap(body -> {
+                            received.add(body);
+                            return attempts.incrementAndGet() == 1
+                                    ? response.status(503).send().then()
+                                    : response.header("Content-Type", "application/json").sendString(Mono.just(body)).then();
+                        })))
+                .bindNow();
+        try {
+            Url urls = stub.urls();
+            urls.setUsersApi("http://localhost:" + flaky.port() + "/api/users/");
+            WebClient webClient = WebClient.builder().filter(new RetryFilter(new ResilienceSettings())).build();
+            ReqresProxy proxy = new ReqresProxy(webClient, urls, new ResponseCache(new CacheSettings()), new ProxySettings());
+            // a real server: unlike a mock request, its body cannot be subscribed to twice
+            DisposableServer server = HttpServer.create().host("localhost").port(0)
+                    .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(proxy.routes())))
+                    .bindNow();
+            try {
+                WebTestClient client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.port()).build();
+                client.put().uri("/api/users/2").contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue("{\"name\":\"morpheus\",\"job\":\"zion resident\"}")
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectBody().jsonPath("$.job").isEqualTo("zion resident");
+            } finally {
+                server.disposeNow();
+            }
+
+            assertThat(attempts).hasValue(2);
+            assertThat(received).hasSize(2).allMatch(body -> body.contains("zion resident"));
+        } finally {
+            flaky.disposeNow();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.replica;
+
+import com.example.demo.client.ReqresClient;
+import com.example.demo.client.StreamingPageDecoder;
+import com.example.demo.entity.ReplicaSettings;
+import com.example.demo.entity.StubSettings;
+import com.example.demo.stub.ReqresStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicaStoreTests {
+
+    private ReqresStubServer stub;
+
+    private ReqresClient client;
+
+    private ReplicaStore replica;
+
+    @BeforeEach
+    void setUp() {
+        StubSettings stubSettings = new StubSettings();
+        stubSettings.setUsers(100);
+        stubSettings.setResources(30);
+        stub = ReqresStubServer.start(stubSettings);
+        client = new ReqresClient(WebClient.create(), stub.urls(), new StreamingPageDecoder(new ObjectMapper()));
+        replica = new ReplicaStore(client, new ReplicaSettings());
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.close();
+        stub.close();
+    }
+
+    @Test
+    void loadsEveryPageAndIndexesUsers() {
+        StepVerifier.create(replica.refresh())
+                .assertNext(stats -> {
+                    assertThat(stats.getUsers()).isEqualTo(100);
+                    assertThat(stats.getResources()).isEqualTo(30);
+                    assertThat(stats.getChangedPages()).isEqualTo(stats.getPages());
+                })
+                .verifyComplete();
+
+        assertThat(replica.user(4)).get().extracting("email").isEqualTo("eve.holt@reqres.in");
+        assertThat(replica.userByEmail("Eve.Holt@reqres.in")).get().extracting("id").isEqualTo(4L);
+        assertThat(replica.usersByLastName("bluth")).extracting("id").containsExactly(1L);
+        assertThat(replica.resource(30)).isPresent();
+        assertThat(replica.user(101)).isEmpty();
+        assertThat(replica.users()).isSorted();
+    }
+
+    @Test
+    void refreshOnlyDecodesChangedPages() {
+        replica.refresh().block();
+
+        StepVerifier.create(replica.refresh())
+                .assertNext(stats -> assertThat(stats.getChangedPages()).isZero())
+                .verifyComplete();
+
+        // every users page carries the new total, the three resources pages stay 304
+        stub.dataset().deleteUser(100);
+        StepVerifier.create(replica.refresh())
+                .assertNext(stats -> {
+                    assertThat(stats.getPages()).isEqualTo(9 + 3);
+                    assertThat(stats.getChangedPages()).isEqualTo(9);
+                    assertThat(stats.getUsers()).isEqualTo(99);
+                })
+                .verifyComplete();
+        assertThat(replica.user(100)).isEmpty();
+        assertThat(replica.user(99)).isPresent();
+    }
+
+    @Test
+    void columnarViewsMatchTheSourceRecords() {
+        replica.refresh().block();
+
+        assertThat(replica.users()).containsExactlyElementsOf(stub.dataset().users(1, 100));
+        assertThat(replica.resources()).containsExactlyElementsOf(stub.dataset().resources(1, 30));
+        assertThat(replica.users().get(3).compareTo(replica.users().get(4))).isNegative();
+        assertThat(replica.resource(5)).get().extracting("year").isEqualTo("2004");
+        assertThatThrownBy(() -> replica.user(1).orElseThrow().setEmail("x"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void restoresFromSnapshotFileBeforeTheFirstSync(@TempDir Path dir) {
+        ReplicaSettings settings = new ReplicaSettings();
+        settings.setSnapshotFile(dir.resolve("replica.bin").toString());
+        try (ReplicaStore writer = new ReplicaStore(client, settings)) {
+            writer.refresh().block();
+            assertThat(writer.retainedBytes()).isZero();
+        }
+
+        try (ReplicaStore restarted = new ReplicaStore(client, settings)) {
+            assertThat(restarted.restore()).isTrue();
+            assertThat(restarted.users()).containsExactlyElementsOf(stub.dataset().users(1, 100));
+            assertThat(restarted.resources()).containsExactlyElementsOf(stub.dataset().resources(1, 30));
+            assertThat(restarted.userByEmail("Eve.Holt@reqres.in")).get().extracting("id").isEqualTo(4L);
+            assertThat(restarted.usersByLastName("bluth")).extracting("id").containsExactly(1L);
+            assertThat(restarted.user(101)).isEmpty();
+            assertThatThrownBy(() -> restarted.user(1).orElseThrow().setEmail("x"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Test
+    void rejectsCorruptSnapshotFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("replica.bin");
+        SnapshotFile.write(file, stub.dataset().users(1, 100), stub.dataset().resources(1, 30));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), channel.size() - 1);
+        }
+
+        assertThatThrownBy(() -> SnapshotFile.open(file)).isInstanceOf(IOException.class).hasMessageContaining("Checksum");
+        ReplicaSettings settings = new ReplicaSettings();
+        settings.setSnapshotFile(file.toString());
+        try (ReplicaStore restarted = new ReplicaStore(client, settings)) {
+            assertThat(restarted.restore()).isFalse();
+            assertThat(restarted.users()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.stub;
+
+import com.example.demo.entity.StubSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReqresStubServerTests {
+
+    private ReqresStubServer stub;
+
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        stub = ReqresStubServer.start(new StubSettings());
+        webClient = WebClient.create(stub.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void ifModifiedSinceIsAnsweredWithLastModified() {
+        ResponseEntity<String> first = get("users?page=1", headers -> {
+        });
+        String lastModified = first.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        assertThat(lastModified).isNotNull();
+
+        assertThat(get("users?page=1", headers -> headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(get("users?page=1", headers -> headers.set(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 1 Jan 2001 00:00:00 GMT"))
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(get("users?page=1", headers -> headers.set(HttpHeaders.IF_MODIFIED_SINCE, "yesterday"))
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        // a stale ETag wins over a current date
+        assertThat(get("users?page=1", headers -> {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            headers.setIfNoneMatch("W/\"stale\"");
+        }).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void cachedPagesFollowChangesToTheDataset() {
+        ResponseEntity<String> before = get("users?page=1&per_page=3", headers -> {
+        });
+        assertThat(get("users?page=1&per_page=3", headers -> {
+        }).getBody()).isEqualTo(before.getBody());
+
+        stub.dataset().createUser("neo");
+
+        ResponseEntity<String> after = get("users?page=1&per_page=3", headers -> headers.set(HttpHeaders.IF_MODIFIED_SINCE,
+                before.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED)));
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(after.getBody()).isNotEqualTo(before.getBody())
+                .contains("\"total\":" + stub.dataset().userTotal());
+        assertThat(after.getHeaders().getETag()).isNotEqualTo(before.getHeaders().getETag());
+    }
+
+    private ResponseEntity<String> get(String path, Consumer<HttpHeaders> headers) {
+        return webClient.get().uri(path).headers(headers).retrieve().toEntity(String.class).block();
+    }
+}